@@ -0,0 +1,95 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Создание {@code size} товаров или бронирований по одному и одним пакетом через POST .../batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchCreateBenchmark {
+
+    @Benchmark
+    public void itemsOneByOne(Dataset dataset, Batch batch, Blackhole blackhole) {
+        ItemService service = dataset.bean(ItemService.class);
+        for (ItemShortDto item : batch.items()) {
+            blackhole.consume(service.create(dataset.owner.getId(), item));
+        }
+    }
+
+    @Benchmark
+    public List<ItemDto> itemsBatched(Dataset dataset, Batch batch) {
+        return dataset.bean(ItemService.class).createAll(dataset.owner.getId(), batch.items());
+    }
+
+    @Benchmark
+    public void bookingsOneByOne(Dataset dataset, Batch batch, Blackhole blackhole) {
+        BookingService service = dataset.bean(BookingService.class);
+        for (BookingShortDto booking : batch.bookings(dataset)) {
+            blackhole.consume(service.create(dataset.booker.getId(), booking));
+        }
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingsBatched(Dataset dataset, Batch batch) {
+        return dataset.bean(BookingService.class).createAll(dataset.booker.getId(), batch.bookings(dataset));
+    }
+
+    /**
+     * Размер пакета и непересекающиеся интервалы: каждое следующее бронирование на два часа позже предыдущего.
+     */
+    @State(Scope.Benchmark)
+    public static class Batch {
+        @Param({"100", "1000"})
+        public int size;
+        private LocalDateTime next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            next = LocalDateTime.now().plusYears(1);
+        }
+
+        List<ItemShortDto> items() {
+            List<ItemShortDto> items = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                items.add(new ItemShortDto(null, "Пакетный товар " + i, "Описание", true));
+            }
+            return items;
+        }
+
+        synchronized List<BookingShortDto> bookings(Dataset dataset) {
+            List<BookingShortDto> bookings = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                bookings.add(new BookingShortDto(null, next, next.plusHours(1), dataset.item.getId()));
+                next = next.plusHours(2);
+            }
+            return bookings;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.benchmark;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingLockProperties;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Пропускная способность резервирования интервалов под конкуренцией, без базы данных.
+ * {@code stripes = 1} эквивалентно одной глобальной блокировке; с 1024 полосами и многими товарами
+ * пропускная способность должна расти с числом потоков, пока их не больше ядер.
+ * Каждая операция резервирует интервал и сразу его освобождает, чтобы индекс не разрастался.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingLockBenchmark {
+    @Param({"1", "1024"})
+    private int stripes;
+    @Param({"1", "10000"})
+    private int items;
+
+    private BookingIntervalIndex index;
+    private final AtomicLong bookingIds = new AtomicLong();
+    private final AtomicLong threadIds = new AtomicLong();
+    private LocalDateTime base;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BookingLockProperties properties = new BookingLockProperties();
+        properties.setStripes(stripes);
+        index = new BookingIntervalIndex(Mockito.mock(BookingRepository.class), properties);
+        base = LocalDateTime.now().plusYears(1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Long reserve1Thread(Slots slots) {
+        return reserve(slots);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Long reserve4Threads(Slots slots) {
+        return reserve(slots);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Long reserve8Threads(Slots slots) {
+        return reserve(slots);
+    }
+
+    private Long reserve(Slots slots) {
+        long itemId = items == 1 ? 1 : ThreadLocalRandom.current().nextInt(items);
+        LocalDateTime start = slots.next();
+        BookingIntervalIndex.Interval interval = index.reserve(itemId, start, start.plusHours(1));
+        Long bookingId = slots.bookingId;
+        index.bind(itemId, interval, bookingId);
+        index.release(itemId, bookingId);
+        return bookingId;
+    }
+
+    /**
+     * У каждого потока свой диапазон времени, поэтому интервалы разных потоков не пересекаются.
+     */
+    @State(Scope.Thread)
+    public static class Slots {
+        private LocalDateTime start;
+        private long counter;
+        private Long bookingId;
+
+        @Setup(Level.Trial)
+        public void setUp(BookingLockBenchmark benchmark) {
+            start = benchmark.base.plusYears(benchmark.threadIds.getAndIncrement());
+            bookingId = benchmark.bookingIds.incrementAndGet();
+        }
+
+        LocalDateTime next() {
+            return start.plusHours(2 * (counter++ % 1000));
+        }
+    }
+}
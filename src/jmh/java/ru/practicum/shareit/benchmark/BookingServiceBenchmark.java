@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPage;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+
+    @Benchmark
+    public BookingDto create(Dataset dataset, Slots slots) {
+        LocalDateTime start = slots.next();
+        return dataset.bean(BookingService.class).create(dataset.booker.getId(),
+                new BookingShortDto(null, start, start.plusHours(1), dataset.item.getId()));
+    }
+
+    @Benchmark
+    public BookingPage getBookingsByOwner(Dataset dataset, OwnerState ownerState) {
+        return dataset.bean(BookingService.class).getBookingsByOwner(dataset.owner.getId(), ownerState.state,
+                BookingCursor.FIRST, 20);
+    }
+
+    /**
+     * Непересекающиеся интервалы для новых бронирований: каждый следующий на два часа позже предыдущего.
+     */
+    @State(Scope.Benchmark)
+    public static class Slots {
+        private final AtomicLong counter = new AtomicLong();
+        private LocalDateTime base;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            base = LocalDateTime.now().plusYears(1);
+        }
+
+        LocalDateTime next() {
+            return base.plusHours(2 * counter.getAndIncrement());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OwnerState {
+        @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+        public ru.practicum.shareit.enums.State state;
+    }
+}
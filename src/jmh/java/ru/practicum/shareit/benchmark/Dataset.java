@@ -0,0 +1,131 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Приложение на встроенной H2 с синтетическими данными.
+ * У каждого пользователя {@code itemsPerUser} товаров, у каждого товара {@code bookingsPerItem} бронирований
+ * подряд по суткам (прошлые, текущее и будущие, часть отклонена) и {@code commentsPerItem} отзывов.
+ */
+@State(Scope.Benchmark)
+public class Dataset {
+    public static final String SEARCH_TEXT = "дрель";
+
+    @Param("100")
+    public int users;
+    @Param("10")
+    public int itemsPerUser;
+    @Param("10")
+    public int bookingsPerItem;
+    @Param("5")
+    public int commentsPerItem;
+
+    public ConfigurableApplicationContext context;
+    public User owner;
+    public User booker;
+    public Item item;
+    public Booking booking;
+    public Comment comment;
+    public List<Item> ownerItems;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class).run(
+                "--spring.profiles.active=test",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.orm.jpa=WARN",
+                "--logging.level.org.springframework.transaction=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        new TransactionTemplate(bean(PlatformTransactionManager.class)).executeWithoutResult(status -> seed());
+        bean(ItemSearchIndex.class).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        List<User> savedUsers = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            savedUsers.add(new User(null, "Пользователь " + u, "user" + u + "@shareit.ru"));
+        }
+        savedUsers = bean(UserRepository.class).saveAll(savedUsers);
+
+        List<Item> items = new ArrayList<>(users * itemsPerUser);
+        for (int u = 0; u < users; u++) {
+            for (int i = 0; i < itemsPerUser; i++) {
+                Item thisItem = new Item(null, (i % 10 == 0 ? "Дрель " : "Инструмент ") + u + "-" + i,
+                        "Описание товара " + i + (i % 3 == 0 ? ", аккумуляторная дрель" : ""), i % 7 != 6);
+                thisItem.setOwner(savedUsers.get(u));
+                items.add(thisItem);
+            }
+        }
+        items = bean(ItemRepository.class).saveAll(items);
+
+        List<Booking> bookings = new ArrayList<>(items.size() * bookingsPerItem);
+        List<Comment> comments = new ArrayList<>(items.size() * commentsPerItem);
+        for (int i = 0; i < items.size(); i++) {
+            Item thisItem = items.get(i);
+            User thisBooker = savedUsers.get((i / itemsPerUser + 1) % users);
+            for (int b = 0; b < bookingsPerItem; b++) {
+                int day = b - bookingsPerItem / 2;
+                LocalDateTime start = now.plusDays(day).minusHours(6);
+                Booking thisBooking = new Booking(null, start, start.plusHours(12));
+                thisBooking.setItem(thisItem);
+                thisBooking.setBooker(thisBooker);
+                thisBooking.setStatus(b % 5 == 4 ? Status.REJECTED : day > 0 && b % 2 == 0
+                        ? Status.WAITING : Status.APPROVED);
+                bookings.add(thisBooking);
+            }
+            for (int c = 0; c < commentsPerItem; c++) {
+                Comment thisComment = new Comment(null, "Отзыв " + c, now.minusDays(c + 1));
+                thisComment.setItem(thisItem);
+                thisComment.setAuthor(thisBooker);
+                comments.add(thisComment);
+            }
+        }
+        bookings = bean(BookingRepository.class).saveAll(bookings);
+        comments = bean(CommentRepository.class).saveAll(comments);
+
+        owner = savedUsers.get(0);
+        booker = savedUsers.get(1 % users);
+        item = items.get(0);
+        ownerItems = new ArrayList<>(items.subList(0, itemsPerUser));
+        booking = bookings.isEmpty() ? null : bookings.get(0);
+        comment = comments.isEmpty() ? null : comments.get(0);
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Benchmark
+    public ItemDto getByIdAsOwner(Dataset dataset) {
+        return dataset.bean(ItemService.class).getById(dataset.owner.getId(), dataset.item.getId()).join();
+    }
+
+    @Benchmark
+    public ItemDto getByIdAsBooker(Dataset dataset) {
+        return dataset.bean(ItemService.class).getById(dataset.booker.getId(), dataset.item.getId()).join();
+    }
+
+    @Benchmark
+    public List<ItemDto> getByUserId(Dataset dataset) {
+        return dataset.bean(ItemService.class).getByUserId(dataset.owner.getId());
+    }
+
+    @Benchmark
+    public List<ItemShortDto> search(Dataset dataset) {
+        return dataset.bean(ItemService.class).search(Dataset.SEARCH_TEXT, null, null, 0, 20);
+    }
+
+    @Benchmark
+    public List<ItemShortDto> searchAvailableForWeek(Dataset dataset) {
+        LocalDateTime from = LocalDateTime.now().withNano(0);
+        return dataset.bean(ItemService.class).search(Dataset.SEARCH_TEXT, from, from.plusDays(7), 0, 20);
+    }
+
+    @Benchmark
+    public List<TimeSlotDto> availabilityForMonth(Dataset dataset) {
+        LocalDateTime from = LocalDateTime.now().withNano(0);
+        return dataset.bean(ItemService.class).getAvailability(dataset.item.getId(), from, from.plusDays(30));
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.mapper.CommentMapper;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private BookingMapper bookingMapper;
+    private CommentMapper commentMapper;
+    private ItemMapper itemMapper;
+    private UserMapper userMapper;
+    private User user;
+    private Item item;
+    private Booking booking;
+    private Comment comment;
+    private ItemShortDto itemShortDto;
+
+    @Setup(Level.Trial)
+    public void setUp(Dataset dataset) {
+        bookingMapper = dataset.bean(BookingMapper.class);
+        commentMapper = dataset.bean(CommentMapper.class);
+        itemMapper = dataset.bean(ItemMapper.class);
+        userMapper = dataset.bean(UserMapper.class);
+        LocalDateTime now = LocalDateTime.now();
+        user = new User(1L, "Пользователь", "user@shareit.ru");
+        item = new Item(1L, "Дрель", "Аккумуляторная дрель", true);
+        item.setOwner(user);
+        booking = new Booking(1L, now, now.plusDays(1));
+        booking.setItem(item);
+        booking.setBooker(user);
+        booking.setStatus(Status.APPROVED);
+        comment = new Comment(1L, "Отзыв", now);
+        comment.setItem(item);
+        comment.setAuthor(user);
+        itemShortDto = itemMapper.toItemShortDto(item);
+    }
+
+    @Benchmark
+    public BookingDto toBookingDto() {
+        return bookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public CommentDto toCommentDto() {
+        return commentMapper.toCommentDto(comment);
+    }
+
+    @Benchmark
+    public ItemDto toItemDto() {
+        return itemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public Item toItem() {
+        return itemMapper.toItem(itemShortDto);
+    }
+
+    @Benchmark
+    public UserDto toUserDto() {
+        return userMapper.toUserDto(user);
+    }
+}
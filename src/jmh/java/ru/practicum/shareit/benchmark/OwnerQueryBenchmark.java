@@ -0,0 +1,47 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Страница бронирований владельца: фильтр через join к items против денормализованного bookings.owner_id.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OwnerQueryBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final String JOIN_QUERY = BookingRepository.SELECT_DTO + "where i.owner.id = :ownerId" +
+            BookingRepository.BEFORE_CURSOR + BookingRepository.ORDER_BY_CURSOR;
+
+    @Benchmark
+    public List<BookingDto> ownerPageByItemJoin(Dataset dataset) {
+        return dataset.bean(EntityManager.class).createQuery(JOIN_QUERY, BookingDto.class)
+                .setParameter("ownerId", dataset.owner.getId())
+                .setParameter("cursorStart", BookingCursor.FIRST.getStart())
+                .setParameter("cursorId", BookingCursor.FIRST.getId())
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<BookingDto> ownerPageByOwnerId(Dataset dataset) {
+        return dataset.bean(BookingRepository.class).findOwnerPage(dataset.owner.getId(),
+                BookingCursor.FIRST.getStart(), BookingCursor.FIRST.getId(), PageRequest.of(0, PAGE_SIZE));
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.ratelimit.RateLimiter;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Накладные расходы ограничителя на один запрос: поиск группы по пути и списание токена.
+ * {@code open} никогда не отказывает, {@code throttled} отказывает почти всегда.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+    @Param({"1", "10000"})
+    private int users;
+
+    private RateLimiter rateLimiter;
+    private RateLimiter.Rule open;
+    private RateLimiter.Rule throttled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("open", group("/bookings", 1_000_000, 1e9));
+        properties.getGroups().put("throttled", group("/items/search", 1, 1e-3));
+        rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry());
+        open = rateLimiter.match("GET", "/bookings");
+        throttled = rateLimiter.match("GET", "/items/search");
+    }
+
+    @Benchmark
+    public RateLimiter.Rule match() {
+        return rateLimiter.match("GET", "/items/search");
+    }
+
+    @Benchmark
+    public long acquireAllowed() {
+        return rateLimiter.acquire(open, nextUser());
+    }
+
+    @Benchmark
+    public long acquireRejected() {
+        return rateLimiter.acquire(throttled, nextUser());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long acquireAllowedContended() {
+        return rateLimiter.acquire(open, nextUser());
+    }
+
+    private long nextUser() {
+        return users == 1 ? 1 : ThreadLocalRandom.current().nextInt(users);
+    }
+
+    private static RateLimitProperties.Group group(String path, int capacity, double refillPerSecond) {
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+        group.setPaths(List.of(path));
+        group.setCapacity(capacity);
+        group.setRefillPerSecond(refillPerSecond);
+        return group;
+    }
+}
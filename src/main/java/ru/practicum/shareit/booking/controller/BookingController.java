@@ -1,25 +1,47 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.service.BookingExport;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.enums.State;
+import ru.practicum.shareit.util.AsyncTimeoutInterceptor;
+import ru.practicum.shareit.util.EntityVersion;
+import ru.practicum.shareit.util.IdempotencyStore;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final BookingService bookingService;
+    private final IdempotencyStore idempotencyStore;
+    private final BookingExportProperties exportProperties;
 
     @PostMapping
     public BookingDto createBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                    @Valid @RequestBody BookingShortDto booking) {
-        return bookingService.create(userId, booking);
+                                    @RequestHeader(value = IdempotencyStore.HEADER, required = false) String key,
+                                    @Valid @RequestBody BookingShortDto booking) throws TimeoutException {
+        return idempotencyStore.execute(key, userId, "POST /bookings", booking,
+                () -> bookingService.create(userId, booking));
+    }
+
+    @PostMapping("/batch")
+    public List<BookingDto> createBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                           @RequestBody List<BookingShortDto> bookings) {
+        return bookingService.createAll(userId, bookings);
     }
 
     @PatchMapping("/{bookingId}")
@@ -30,19 +52,60 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public BookingDto getById(@PathVariable Long bookingId, @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public BookingDto getById(@PathVariable Long bookingId, @RequestHeader("X-Sharer-User-Id") Long userId,
+                              WebRequest request) {
+        EntityVersion version = bookingService.getVersion(bookingId, userId);
+        if (request.checkNotModified(version.getTag(), version.getLastModified())) {
+            return null;
+        }
         return bookingService.getById(bookingId, userId);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                               @RequestParam(defaultValue = "ALL") String state) {
-        return bookingService.getBookingsByOwner(userId, State.valueOf(state));
+    public ResponseEntity<List<BookingDto>> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                               @RequestParam(defaultValue = "ALL") String state,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer size) {
+        return withNextCursor(bookingService.getBookingsByOwner(userId, State.valueOf(state),
+                BookingCursor.decode(cursor), size));
     }
 
     @GetMapping
-    public List<BookingDto> getBookingsByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                              @RequestParam(defaultValue = "ALL") String state) {
-        return bookingService.getBookingsByUser(userId, State.valueOf(state));
+    public ResponseEntity<List<BookingDto>> getBookingsByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                              @RequestParam(defaultValue = "ALL") String state,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size) {
+        return withNextCursor(bookingService.getBookingsByUser(userId, State.valueOf(state),
+                BookingCursor.decode(cursor), size));
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                       @RequestParam(defaultValue = "ALL") String state,
+                                                                       WebRequest request) {
+        return ndjson(bookingService.exportBookingsByOwner(userId, State.valueOf(state)), request);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                      @RequestParam(defaultValue = "ALL") String state,
+                                                                      WebRequest request) {
+        return ndjson(bookingService.exportBookingsByUser(userId, State.valueOf(state)), request);
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(BookingExport export, WebRequest request) {
+        AsyncTimeoutInterceptor.set(request, exportProperties.getTimeout());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(export::writeTo);
+    }
+
+    private ResponseEntity<List<BookingDto>> withNextCursor(BookingPage page) {
+        if (page.getNext() == null) {
+            return ResponseEntity.ok(page.getBookings());
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, page.getNext().encode())
+                .body(page.getBookings());
     }
-}
\ No newline at end of file
+}
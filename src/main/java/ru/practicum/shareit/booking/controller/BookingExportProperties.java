@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.controller;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.bookings.export")
+public class BookingExportProperties {
+    private Duration timeout = Duration.ofMinutes(10);
+}
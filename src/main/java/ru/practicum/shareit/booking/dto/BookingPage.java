@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Страница бронирований и курсор следующей страницы; курсора нет, если дальше записей нет.
+ */
+@Value
+public class BookingPage {
+    List<BookingDto> bookings;
+    BookingCursor next;
+}
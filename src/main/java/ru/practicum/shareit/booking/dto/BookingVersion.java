@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Версии бронирования и связанных с ним товара и арендатора: от всех трёх зависит BookingDto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingVersion {
+    private Long bookerId;
+    private Long ownerId;
+    private Long version;
+    private LocalDateTime updated;
+    private Long itemVersion;
+    private LocalDateTime itemUpdated;
+    private Long bookerVersion;
+    private LocalDateTime bookerUpdated;
+}
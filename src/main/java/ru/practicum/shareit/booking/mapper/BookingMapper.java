@@ -7,6 +7,7 @@ import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.user.service.UserIdentityCache;
 
 @Component
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -21,6 +22,17 @@ public class BookingMapper {
                 new BookingDto.Item(booking.getItem().getId(), booking.getItem().getName()));
     }
 
+    public BookingDto toBookingDto(Booking booking, UserIdentityCache.Identity booker) {
+        return new BookingDto(booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                booking.getStatus(),
+                booker.getId(),
+                booker.getName(),
+                booking.getItem().getId(),
+                booking.getItem().getName());
+    }
+
     public Booking toBooking(BookingShortDto booking) {
         return new Booking(booking.getId(),
                 booking.getStart(),
@@ -18,20 +18,26 @@ import java.util.Objects;
 @Table(name = "bookings")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
     @Column(name = "start_date")
     private LocalDateTime start;
     @Column(name = "end_date")
     private LocalDateTime end;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
     private User booker;
     @Enumerated(EnumType.STRING)
     private Status status;
+    @Column(name = "owner_id")
+    private Long ownerId;
+    @Version
+    private Long version;
+    private LocalDateTime updated;
 
     public Booking(Long id, LocalDateTime start, LocalDateTime end) {
         this.id = id;
@@ -39,6 +45,28 @@ public class Booking {
         this.end = end;
     }
 
+    public Booking(Long id, LocalDateTime start, LocalDateTime end, Item item, User booker, Status status,
+                   Long ownerId) {
+        this(id, start, end);
+        this.item = item;
+        this.booker = booker;
+        this.status = status;
+        this.ownerId = ownerId;
+    }
+
+    @PrePersist
+    void fillOwner() {
+        if (ownerId == null && item != null) {
+            ownerId = item.getOwner().getId();
+        }
+        touch();
+    }
+
+    @PreUpdate
+    void touch() {
+        updated = LocalDateTime.now();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
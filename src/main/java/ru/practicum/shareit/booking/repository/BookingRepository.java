@@ -1,44 +1,165 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.booking.dto.BookingVersion;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.enums.Status;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBooker(User booker, Sort sort);
+    String BEFORE_CURSOR = " and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId)) ";
+    String ORDER_BY_CURSOR = " order by b.start desc, b.id desc";
+    String FETCH_SIZE = "500";
+    String SELECT_DTO = "select new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.status, " +
+            "bk.id, bk.name, i.id, i.name) from Booking b join b.booker bk join b.item i ";
 
-    List<Booking> findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(Long bookerId, Long itemId,
-                                                                          Status status, LocalDateTime end);
+    @Query(SELECT_DTO + "where b.booker.id = :bookerId" + BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingDto> findBookerPage(Long bookerId, LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @Query(SELECT_DTO + "where b.booker.id = :bookerId and b.start < :now and b.end > :now" +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingDto> findBookerCurrentPage(Long bookerId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId,
+                                           Pageable page);
+
+    @Query(SELECT_DTO + "where b.booker.id = :bookerId and b.end < :now" + BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingDto> findBookerPastPage(Long bookerId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId,
+                                        Pageable page);
+
+    @Query(SELECT_DTO + "where b.booker.id = :bookerId and b.start > :now" + BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingDto> findBookerFuturePage(Long bookerId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId,
+                                          Pageable page);
+
+    @Query(SELECT_DTO + "where b.booker.id = :bookerId and b.status = :status" +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingDto> findBookerPageByStatus(Long bookerId, Status status, LocalDateTime cursorStart, Long cursorId,
+                                            Pageable page);
+
+    @Query(SELECT_DTO + "where b.ownerId = :ownerId" + BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingDto> findOwnerPage(Long ownerId, LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @Query(SELECT_DTO + "where b.ownerId = :ownerId and b.start < :now and b.end > :now" +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingDto> findOwnerCurrentPage(Long ownerId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId,
+                                          Pageable page);
+
+    @Query(SELECT_DTO + "where b.ownerId = :ownerId and b.end < :now" + BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingDto> findOwnerPastPage(Long ownerId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId,
+                                       Pageable page);
+
+    @Query(SELECT_DTO + "where b.ownerId = :ownerId and b.start > :now" +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingDto> findOwnerFuturePage(Long ownerId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId,
+                                         Pageable page);
 
-    List<Booking> findAllByBookerAndStartBeforeAndEndAfter(User booker, LocalDateTime start,
-                                                           LocalDateTime end, Sort sort);
+    @Query(SELECT_DTO + "where b.ownerId = :ownerId and b.status = :status" +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingDto> findOwnerPageByStatus(Long ownerId, Status status, LocalDateTime cursorStart, Long cursorId,
+                                           Pageable page);
 
-    List<Booking> findAllByBookerAndEndBefore(User booker, LocalDateTime end, Sort sort);
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1, b.updated = :now " +
+            "where b.id = :id and b.status = :expected")
+    int compareAndSetStatus(Long id, Status expected, Status status, LocalDateTime now);
 
-    List<Booking> findAllByBookerAndStartAfter(User booker, LocalDateTime start, Sort sort);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingVersion(b.booker.id, b.ownerId, b.version, " +
+            "b.updated, i.version, i.updated, u.version, u.updated) " +
+            "from Booking b join b.item i join b.booker u where b.id = :id")
+    Optional<BookingVersion> findVersionById(Long id);
 
-    List<Booking> findAllByBookerAndStatusEquals(User booker, Status status, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findWithItemAndBookerById(Long id);
 
-    List<Booking> findAllByItemOwner(User owner, Sort sort);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE))
+    @Query(SELECT_DTO + "where b.booker.id = :bookerId" + ORDER_BY_CURSOR)
+    Stream<BookingDto> streamByBooker(Long bookerId);
 
-    List<Booking> findAllByItemOwnerAndStartBeforeAndEndAfter(User owner, LocalDateTime start,
-                                                              LocalDateTime end, Sort sort);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE))
+    @Query(SELECT_DTO + "where b.booker.id = :bookerId and b.start < :now and b.end > :now" + ORDER_BY_CURSOR)
+    Stream<BookingDto> streamCurrentByBooker(Long bookerId, LocalDateTime now);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE))
+    @Query(SELECT_DTO + "where b.booker.id = :bookerId and b.end < :now" + ORDER_BY_CURSOR)
+    Stream<BookingDto> streamPastByBooker(Long bookerId, LocalDateTime now);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE))
+    @Query(SELECT_DTO + "where b.booker.id = :bookerId and b.start > :now" + ORDER_BY_CURSOR)
+    Stream<BookingDto> streamFutureByBooker(Long bookerId, LocalDateTime now);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE))
+    @Query(SELECT_DTO + "where b.booker.id = :bookerId and b.status = :status" + ORDER_BY_CURSOR)
+    Stream<BookingDto> streamByBookerAndStatus(Long bookerId, Status status);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE))
+    @Query(SELECT_DTO + "where b.ownerId = :ownerId" + ORDER_BY_CURSOR)
+    Stream<BookingDto> streamByOwner(Long ownerId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE))
+    @Query(SELECT_DTO + "where b.ownerId = :ownerId and b.start < :now and b.end > :now" + ORDER_BY_CURSOR)
+    Stream<BookingDto> streamCurrentByOwner(Long ownerId, LocalDateTime now);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE))
+    @Query(SELECT_DTO + "where b.ownerId = :ownerId and b.end < :now" + ORDER_BY_CURSOR)
+    Stream<BookingDto> streamPastByOwner(Long ownerId, LocalDateTime now);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE))
+    @Query(SELECT_DTO + "where b.ownerId = :ownerId and b.start > :now" + ORDER_BY_CURSOR)
+    Stream<BookingDto> streamFutureByOwner(Long ownerId, LocalDateTime now);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE))
+    @Query(SELECT_DTO + "where b.ownerId = :ownerId and b.status = :status" + ORDER_BY_CURSOR)
+    Stream<BookingDto> streamByOwnerAndStatus(Long ownerId, Status status);
+
+    @Query("select b from Booking b " +
+            "where b.booker.id = :bookerId and b.item.id = :itemId and b.status = :status and b.end < :end")
+    List<Booking> findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(Long bookerId, Long itemId,
+                                                                          Status status, LocalDateTime end);
 
-    List<Booking> findAllByItemOwnerAndEndBefore(User owner, LocalDateTime end, Sort sort);
+    @Query(value = "select b.* from bookings b where b.id in (" +
+            "select ranked.id from (" +
+            "select bk.id, row_number() over (partition by bk.item_id, bk.start_date <= :now " +
+            "order by case when bk.start_date <= :now then bk.start_date end desc, bk.start_date) as rn " +
+            "from bookings bk where bk.item_id in :itemIds and bk.status = :status) ranked " +
+            "where ranked.rn = 1)", nativeQuery = true)
+    List<Booking> findLastAndNextByItemIdIn(Collection<Long> itemIds, LocalDateTime now, String status);
 
-    List<Booking> findAllByItemOwnerAndStartAfter(User owner, LocalDateTime start, Sort sort);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingForItemDto(b.id, b.start, b.end, b.item.id, b.booker.id) " +
+            "from Booking b " +
+            "where b.item.id = :itemId and b.status in :statuses and b.end > :now")
+    List<BookingForItemDto> findAllActiveByItemId(Long itemId, Collection<Status> statuses, LocalDateTime now);
 
-    List<Booking> findAllByItemOwnerAndStatusEquals(User owner, Status status, Sort sort);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingForItemDto(b.id, b.start, b.end, b.item.id, b.booker.id) " +
+            "from Booking b " +
+            "where b.booker.id = :bookerId and b.status in :statuses and b.end > :now")
+    List<BookingForItemDto> findAllActiveByBookerId(Long bookerId, Collection<Status> statuses, LocalDateTime now);
 
-    Optional<Booking> findFirstByItemIdInAndStartLessThanEqualAndStatus(List<Long> idItems, LocalDateTime now,
-                                                                        Status approved, Sort sort);
+    @Query("select distinct b.item.id from Booking b where b.booker.id = :bookerId")
+    List<Long> findItemIdsByBookerId(Long bookerId);
 
-    Optional<Booking> findFirstByItemIdInAndStartAfterAndStatus(List<Long> idItems, LocalDateTime now,
-                                                                Status approved, Sort sort);
+    /**
+     * Занятые интервалы товара, пересекающие окно [from, to), по возрастанию начала.
+     * Нижней границы по началу нет: бронирование, начавшееся сколь угодно давно, может охватывать всё окно.
+     * Поэтому диапазон по индексу (item_id, status, end_date, start_date) ограничивается концом: читаются только
+     * брони, заканчивающиеся после from, и сами строки таблицы не нужны.
+     */
+    @Query("select new ru.practicum.shareit.item.dto.TimeSlotDto(b.start, b.end) from Booking b " +
+            "where b.item.id = :itemId and b.status in :statuses and b.start < :to and b.end > :from " +
+            "order by b.start")
+    List<TimeSlotDto> findOccupiedSlots(Long itemId, Collection<Status> statuses, LocalDateTime from,
+                                        LocalDateTime to);
 }
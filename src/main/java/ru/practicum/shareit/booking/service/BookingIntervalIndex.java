@@ -0,0 +1,192 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.exception.AccessException;
+import ru.practicum.shareit.util.StripedLock;
+import ru.practicum.shareit.util.TransactionHooks;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Индекс занятых интервалов по каждому товару.
+ * Хранит бронирования в статусах WAITING и APPROVED, которые ещё не закончились, отсортированными по началу.
+ * Пересечения индекс не допускает, поэтому для проверки нового интервала достаточно одного соседа слева.
+ * Изменения по одному товару выполняются под его полосой {@link StripedLock}: бронирования одного товара
+ * идут строго по очереди, а разных товаров — параллельно. Блокировка берётся по id товара, а не по записи
+ * в индексе, поэтому её не теряет {@link #evict} и число блокировок не растёт вместе с числом товаров.
+ */
+@Component
+public class BookingIntervalIndex {
+    public static final List<Status> ACTIVE_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+    private final BookingRepository bookingRepository;
+    private final StripedLock locks;
+    private final Map<Long, ItemIntervals> items = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository, BookingLockProperties properties) {
+        this.bookingRepository = bookingRepository;
+        this.locks = new StripedLock(properties.getStripes());
+    }
+
+    public Interval reserve(Long itemId, LocalDateTime start, LocalDateTime end) {
+        Interval interval = new Interval(start, end, sequence.incrementAndGet());
+        Lock lock = locks.get(itemId);
+        lock.lock();
+        try {
+            ItemIntervals intervals = items.computeIfAbsent(itemId, id -> new ItemIntervals());
+            load(itemId, intervals);
+            intervals.prune(LocalDateTime.now());
+            if (intervals.overlaps(start, end)) {
+                throw new AccessException("Товар уже забронирован на выбранное время");
+            }
+            intervals.set.add(interval);
+        } finally {
+            lock.unlock();
+        }
+        releaseOnRollback(itemId, interval);
+        return interval;
+    }
+
+    public void bind(Long itemId, Interval interval, Long bookingId) {
+        Lock lock = locks.get(itemId);
+        lock.lock();
+        try {
+            ItemIntervals intervals = items.get(itemId);
+            if (intervals == null) {
+                return;
+            }
+            interval.bookingId = bookingId;
+            intervals.byBooking.put(bookingId, interval);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(Long itemId, Long bookingId) {
+        TransactionHooks.afterCommit(() -> remove(itemId, bookingId));
+    }
+
+    /**
+     * Забывает интервалы товара после коммита: до него чужие незакоммиченные резервирования
+     * видны только в индексе, и повторная загрузка из базы их бы потеряла.
+     */
+    public void evict(Long itemId) {
+        TransactionHooks.afterCommit(() -> {
+            Lock lock = locks.get(itemId);
+            lock.lock();
+            try {
+                items.remove(itemId);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private void remove(Long itemId, Long bookingId) {
+        Lock lock = locks.get(itemId);
+        lock.lock();
+        try {
+            ItemIntervals intervals = items.get(itemId);
+            if (intervals == null) {
+                return;
+            }
+            Interval interval = intervals.byBooking.remove(bookingId);
+            if (interval != null) {
+                intervals.set.remove(interval);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void load(Long itemId, ItemIntervals intervals) {
+        if (intervals.loaded) {
+            return;
+        }
+        List<BookingForItemDto> bookings = bookingRepository.findAllActiveByItemId(itemId, ACTIVE_STATUSES,
+                LocalDateTime.now());
+        for (BookingForItemDto booking : bookings) {
+            Interval interval = new Interval(booking.getStart(), booking.getEnd(), sequence.incrementAndGet());
+            interval.bookingId = booking.getId();
+            intervals.set.add(interval);
+            intervals.byBooking.put(booking.getId(), interval);
+        }
+        intervals.loaded = true;
+    }
+
+    private void releaseOnRollback(Long itemId, Interval interval) {
+        TransactionHooks.afterRollback(() -> {
+            Lock lock = locks.get(itemId);
+            lock.lock();
+            try {
+                ItemIntervals intervals = items.get(itemId);
+                if (intervals == null) {
+                    return;
+                }
+                intervals.set.remove(interval);
+                if (interval.bookingId != null) {
+                    intervals.byBooking.remove(interval.bookingId);
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    @Getter
+    public static class Interval {
+        private static final Comparator<Interval> ORDER = Comparator.comparing(Interval::getStart)
+                .thenComparingLong(Interval::getSeq);
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final long seq;
+        private Long bookingId;
+
+        private Interval(LocalDateTime start, LocalDateTime end, long seq) {
+            this.start = start;
+            this.end = end;
+            this.seq = seq;
+        }
+    }
+
+    private static class ItemIntervals {
+        private final NavigableSet<Interval> set = new TreeSet<>(Interval.ORDER);
+        private final Map<Long, Interval> byBooking = new HashMap<>();
+        private boolean loaded;
+
+        private boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Interval previous = set.lower(new Interval(end, end, Long.MIN_VALUE));
+            return previous != null && previous.getEnd().isAfter(start);
+        }
+
+        private void prune(LocalDateTime now) {
+            Iterator<Interval> iterator = set.iterator();
+            while (iterator.hasNext()) {
+                Interval interval = iterator.next();
+                if (!interval.getStart().isBefore(now)) {
+                    return;
+                }
+                if (!interval.getEnd().isAfter(now)) {
+                    iterator.remove();
+                    if (interval.bookingId != null) {
+                        byBooking.remove(interval.bookingId);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.bookings.lock")
+public class BookingLockProperties {
+    private int stripes = 1024;
+}
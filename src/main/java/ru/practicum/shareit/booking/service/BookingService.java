@@ -1,19 +1,30 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.enums.State;
+import ru.practicum.shareit.util.EntityVersion;
 
 import java.util.List;
 
 public interface BookingService {
     BookingDto create(Long userId, BookingShortDto booking);
 
+    List<BookingDto> createAll(Long userId, List<BookingShortDto> bookings);
+
     BookingDto updateStatus(Long userId, Long booking, Boolean approved);
 
     BookingDto getById(Long bookingId, Long userId);
 
-    List<BookingDto> getBookingsByOwner(Long userId, State state);
+    EntityVersion getVersion(Long bookingId, Long userId);
+
+    BookingPage getBookingsByOwner(Long userId, State state, BookingCursor cursor, Integer size);
+
+    BookingPage getBookingsByUser(Long userId, State state, BookingCursor cursor, Integer size);
+
+    BookingExport exportBookingsByOwner(Long userId, State state);
 
-    List<BookingDto> getBookingsByUser(Long userId, State state);
+    BookingExport exportBookingsByUser(Long userId, State state);
 }
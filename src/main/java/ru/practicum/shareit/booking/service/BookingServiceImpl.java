@@ -1,36 +1,66 @@
 package ru.practicum.shareit.booking.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.dto.BookingVersion;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.enums.State;
 import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.event.service.BookingEventPublisher;
 import ru.practicum.shareit.exception.AccessException;
+import ru.practicum.shareit.exception.BatchValidationException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
-import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.item.service.ItemViewCache;
+import ru.practicum.shareit.user.service.UserIdentityCache;
+import ru.practicum.shareit.util.BatchValidator;
+import ru.practicum.shareit.util.EntityVersion;
+import ru.practicum.shareit.util.OffsetPageRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserIdentityCache users;
     private final ItemRepository itemRepository;
     private final BookingMapper mapper;
-    private static final Sort sort = Sort.by(Sort.Direction.DESC, "start");
+    private final BookingIntervalIndex intervalIndex;
+    private final ItemViewCache itemViewCache;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final BatchValidator batchValidator;
+    private final BookingEventPublisher eventPublisher;
+    private static final int EXPORT_FLUSH_EVERY = 500;
 
     @Transactional
     @Override
@@ -40,29 +70,77 @@ public class BookingServiceImpl implements BookingService {
         if (item.getAvailable().equals(false)) {
             throw new AccessException("Товар недоступен для бронирования");
         }
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new ObjectNotFoundException("Пользователь не найден"));
-        if (item.getOwner().getId().equals(userId)) {
-            throw new ObjectNotFoundException("Не найдено");
-        }
-        if (booking.getStart().equals(booking.getEnd())) {
-            throw new ValidationException("Время начала не может быть равно времени окончания заявки");
-        }
-        if (booking.getEnd().isBefore(booking.getStart()) || booking.getEnd() == booking.getStart()) {
-            throw new ValidationException("Ошибка валидации времени");
-        }
+        UserIdentityCache.Identity booker = users.require(userId);
+        checkBooking(item, userId, booking);
+        BookingIntervalIndex.Interval interval = intervalIndex.reserve(item.getId(), booking.getStart(),
+                booking.getEnd());
         Booking thisBooking = mapper.toBooking(booking);
         thisBooking.setItem(item);
-        thisBooking.setBooker(user);
+        thisBooking.setBooker(users.reference(userId));
         thisBooking.setStatus(Status.WAITING);
         Booking savedBooking = bookingRepository.save(thisBooking);
-        return mapper.toBookingDto(savedBooking);
+        intervalIndex.bind(item.getId(), interval, savedBooking.getId());
+        eventPublisher.bookingsCreated(List.of(savedBooking));
+        return mapper.toBookingDto(savedBooking, booker);
+    }
+
+    @Transactional
+    @Override
+    public List<BookingDto> createAll(Long userId, List<BookingShortDto> bookings) {
+        UserIdentityCache.Identity booker = users.require(userId);
+        Map<Integer, String> errors = batchValidator.validate(bookings);
+        Map<Long, Item> items = itemRepository.findAllById(bookings.stream()
+                        .filter(Objects::nonNull)
+                        .map(BookingShortDto::getItemId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Booking> thisBookings = new ArrayList<>(bookings.size());
+        List<BookingIntervalIndex.Interval> intervals = new ArrayList<>(bookings.size());
+        for (int i = 0; i < bookings.size(); i++) {
+            if (errors.containsKey(i)) {
+                continue;
+            }
+            BookingShortDto booking = bookings.get(i);
+            Item item = items.get(booking.getItemId());
+            try {
+                if (item == null) {
+                    throw new ObjectNotFoundException("Товара не существует");
+                }
+                if (item.getAvailable().equals(false)) {
+                    throw new AccessException("Товар недоступен для бронирования");
+                }
+                checkBooking(item, userId, booking);
+                intervals.add(intervalIndex.reserve(item.getId(), booking.getStart(), booking.getEnd()));
+            } catch (ObjectNotFoundException | AccessException | ValidationException e) {
+                errors.put(i, e.getMessage());
+                continue;
+            }
+            Booking thisBooking = mapper.toBooking(booking);
+            thisBooking.setItem(item);
+            thisBooking.setBooker(users.reference(userId));
+            thisBooking.setStatus(Status.WAITING);
+            thisBookings.add(thisBooking);
+        }
+        if (!errors.isEmpty()) {
+            throw new BatchValidationException("Ошибка валидации пакета бронирований", errors);
+        }
+        List<Booking> savedBookings = bookingRepository.saveAll(thisBookings);
+        eventPublisher.bookingsCreated(savedBookings);
+        List<BookingDto> result = new ArrayList<>(savedBookings.size());
+        for (int i = 0; i < savedBookings.size(); i++) {
+            Booking savedBooking = savedBookings.get(i);
+            intervalIndex.bind(savedBooking.getItem().getId(), intervals.get(i), savedBooking.getId());
+            result.add(mapper.toBookingDto(savedBooking, booker));
+        }
+        return result;
     }
 
     @Transactional
     @Override
     public BookingDto updateStatus(Long bookingId, Long userId, Boolean approved) {
-        Booking thisBooking = bookingRepository.findById(bookingId).orElseThrow(
+        Booking thisBooking = bookingRepository.findWithItemAndBookerById(bookingId).orElseThrow(
                 () -> new ObjectNotFoundException("Бронирование не найдено"));
         if (!userId.equals(thisBooking.getItem().getOwner().getId())) {
             throw new ObjectNotFoundException("Не найдено");
@@ -70,13 +148,22 @@ public class BookingServiceImpl implements BookingService {
         if (!thisBooking.getStatus().equals(Status.WAITING)) {
             throw new AccessException("Нельзя изменить статус");
         }
-        thisBooking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
+        Status status = approved ? Status.APPROVED : Status.REJECTED;
+        if (bookingRepository.compareAndSetStatus(bookingId, Status.WAITING, status, LocalDateTime.now()) == 0) {
+            throw new ConflictException("Статус бронирования уже изменён другим запросом");
+        }
+        thisBooking.setStatus(status);
+        eventPublisher.statusChanged(thisBooking);
+        itemViewCache.evictOwnerView(thisBooking.getItem().getId());
+        if (!approved) {
+            intervalIndex.release(thisBooking.getItem().getId(), thisBooking.getId());
+        }
         return mapper.toBookingDto(thisBooking);
     }
 
     @Override
     public BookingDto getById(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId).orElseThrow(
                 () -> new ObjectNotFoundException("Бронирование не найдено"));
         if (!userId.equals(booking.getBooker().getId()) && !userId.equals(booking.getItem().getOwner().getId())) {
             throw new ObjectNotFoundException("Неверный запрос");
@@ -85,65 +172,134 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getBookingsByOwner(Long userId, State state) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new ObjectNotFoundException("Пользователь не найден"));
-        List<Booking> bookingList;
-        switch (state) {
-            case ALL:
-                bookingList = bookingRepository.findAllByItemOwner(user, sort);
-                break;
-            case CURRENT:
-                bookingList = bookingRepository.findAllByItemOwnerAndStartBeforeAndEndAfter(user, LocalDateTime.now(),
-                        LocalDateTime.now(), sort);
-                break;
-            case PAST:
-                bookingList = bookingRepository.findAllByItemOwnerAndEndBefore(user, LocalDateTime.now(), sort);
-                break;
-            case FUTURE:
-                bookingList = bookingRepository.findAllByItemOwnerAndStartAfter(user, LocalDateTime.now(), sort);
-                break;
-            case WAITING:
-                bookingList = bookingRepository.findAllByItemOwnerAndStatusEquals(user, Status.WAITING, sort);
-                break;
-            case REJECTED:
-                bookingList = bookingRepository.findAllByItemOwnerAndStatusEquals(user, Status.REJECTED, sort);
-                break;
-            default:
-                throw new AccessException("Unknown state: UNSUPPORTED_STATUS");
-        }
-        return bookingList.stream().map(mapper::toBookingDto).collect(Collectors.toList());
+    public EntityVersion getVersion(Long bookingId, Long userId) {
+        BookingVersion version = bookingRepository.findVersionById(bookingId).orElseThrow(
+                () -> new ObjectNotFoundException("Бронирование не найдено"));
+        if (!userId.equals(version.getBookerId()) && !userId.equals(version.getOwnerId())) {
+            throw new ObjectNotFoundException("Неверный запрос");
+        }
+        LocalDateTime updated = version.getUpdated();
+        for (LocalDateTime related : List.of(version.getItemUpdated(), version.getBookerUpdated())) {
+            if (related.isAfter(updated)) {
+                updated = related;
+            }
+        }
+        return new EntityVersion(version.getVersion() + "." + version.getItemVersion() + "."
+                + version.getBookerVersion(), updated);
+    }
+
+    @Override
+    public BookingPage getBookingsByOwner(Long userId, State state, BookingCursor cursor, Integer size) {
+        users.require(userId);
+        Pageable page = toPage(size);
+        LocalDateTime start = cursor.getStart();
+        Long id = cursor.getId();
+        return toBookingPage(new BookingStateQueries<>(
+                () -> bookingRepository.findOwnerPage(userId, start, id, page),
+                now -> bookingRepository.findOwnerCurrentPage(userId, now, start, id, page),
+                now -> bookingRepository.findOwnerPastPage(userId, now, start, id, page),
+                now -> bookingRepository.findOwnerFuturePage(userId, now, start, id, page),
+                status -> bookingRepository.findOwnerPageByStatus(userId, status, start, id, page))
+                .select(state).get(), size);
+    }
+
+    @Override
+    public BookingPage getBookingsByUser(Long userId, State state, BookingCursor cursor, Integer size) {
+        users.require(userId);
+        Pageable page = toPage(size);
+        LocalDateTime start = cursor.getStart();
+        Long id = cursor.getId();
+        return toBookingPage(new BookingStateQueries<>(
+                () -> bookingRepository.findBookerPage(userId, start, id, page),
+                now -> bookingRepository.findBookerCurrentPage(userId, now, start, id, page),
+                now -> bookingRepository.findBookerPastPage(userId, now, start, id, page),
+                now -> bookingRepository.findBookerFuturePage(userId, now, start, id, page),
+                status -> bookingRepository.findBookerPageByStatus(userId, status, start, id, page))
+                .select(state).get(), size);
+    }
+
+    @Override
+    public BookingExport exportBookingsByOwner(Long userId, State state) {
+        users.require(userId);
+        Supplier<Stream<BookingDto>> bookings = new BookingStateQueries<>(
+                () -> bookingRepository.streamByOwner(userId),
+                now -> bookingRepository.streamCurrentByOwner(userId, now),
+                now -> bookingRepository.streamPastByOwner(userId, now),
+                now -> bookingRepository.streamFutureByOwner(userId, now),
+                status -> bookingRepository.streamByOwnerAndStatus(userId, status))
+                .select(state);
+        return out -> export(bookings, out);
     }
 
     @Override
-    public List<BookingDto> getBookingsByUser(Long userId, State state) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new ObjectNotFoundException("Пользователь не найден"));
-        List<Booking> bookingList;
-        switch (state) {
-            case ALL:
-                bookingList = bookingRepository.findAllByBooker(user, sort);
-                break;
-            case CURRENT:
-                bookingList = bookingRepository.findAllByBookerAndStartBeforeAndEndAfter(user,
-                        LocalDateTime.now(), LocalDateTime.now(), sort);
-                break;
-            case PAST:
-                bookingList = bookingRepository.findAllByBookerAndEndBefore(user,
-                        LocalDateTime.now(), sort);
-                break;
-            case FUTURE:
-                bookingList = bookingRepository.findAllByBookerAndStartAfter(user, LocalDateTime.now(), sort);
-                break;
-            case WAITING:
-                bookingList = bookingRepository.findAllByBookerAndStatusEquals(user, Status.WAITING, sort);
-                break;
-            case REJECTED:
-                bookingList = bookingRepository.findAllByBookerAndStatusEquals(user, Status.REJECTED, sort);
-                break;
-            default:
-                throw new AccessException("Unknown state: UNSUPPORTED_STATUS");
-        }
-        return bookingList.stream().map(mapper::toBookingDto).collect(Collectors.toList());
+    public BookingExport exportBookingsByUser(Long userId, State state) {
+        users.require(userId);
+        Supplier<Stream<BookingDto>> bookings = new BookingStateQueries<>(
+                () -> bookingRepository.streamByBooker(userId),
+                now -> bookingRepository.streamCurrentByBooker(userId, now),
+                now -> bookingRepository.streamPastByBooker(userId, now),
+                now -> bookingRepository.streamFutureByBooker(userId, now),
+                status -> bookingRepository.streamByBookerAndStatus(userId, status))
+                .select(state);
+        return out -> export(bookings, out);
+    }
+
+    private void export(Supplier<Stream<BookingDto>> bookings, OutputStream out) throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            transaction.executeWithoutResult(status -> {
+                try (Stream<BookingDto> stream = bookings.get()) {
+                    writeLines(stream.iterator(), out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeLines(Iterator<BookingDto> bookings, OutputStream out) throws IOException {
+        int written = 0;
+        while (bookings.hasNext()) {
+            out.write(objectMapper.writeValueAsBytes(bookings.next()));
+            out.write('\n');
+            if (++written % EXPORT_FLUSH_EVERY == 0) {
+                out.flush();
+            }
+        }
+        out.flush();
+    }
+
+    private void checkBooking(Item item, Long userId, BookingShortDto booking) {
+        if (item.getOwner().getId().equals(userId)) {
+            throw new ObjectNotFoundException("Не найдено");
+        }
+        if (booking.getStart().equals(booking.getEnd())) {
+            throw new ValidationException("Время начала не может быть равно времени окончания заявки");
+        }
+        if (booking.getEnd().isBefore(booking.getStart()) || booking.getEnd() == booking.getStart()) {
+            throw new ValidationException("Ошибка валидации времени");
+        }
+    }
+
+    private Pageable toPage(Integer size) {
+        if (size == null) {
+            return Pageable.unpaged();
+        }
+        OffsetPageRequest.checkSize(size);
+        return PageRequest.ofSize(size + 1);
+    }
+
+    /**
+     * Страница запрашивается с одной лишней записью: по ней видно, есть ли следующая страница.
+     */
+    private static BookingPage toBookingPage(List<BookingDto> bookings, Integer size) {
+        if (size == null || bookings.size() <= size) {
+            return new BookingPage(bookings, null);
+        }
+        List<BookingDto> page = new ArrayList<>(bookings.subList(0, size));
+        return new BookingPage(page, BookingCursor.after(page.get(size - 1)));
     }
 }
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.enums.State;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.exception.AccessException;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Набор запросов бронирований по одному срезу (владелец или арендатор, страница или поток),
+ * из которого выбирается запрос для состояния State.
+ */
+@RequiredArgsConstructor
+class BookingStateQueries<R> {
+    private final Supplier<R> all;
+    private final Function<LocalDateTime, R> current;
+    private final Function<LocalDateTime, R> past;
+    private final Function<LocalDateTime, R> future;
+    private final Function<Status, R> byStatus;
+
+    /**
+     * Выбирает запрос сразу, чтобы неизвестное состояние отклонялось до начала выгрузки,
+     * а выполняет его только при вызове get().
+     */
+    Supplier<R> select(State state) {
+        switch (state) {
+            case ALL:
+                return all;
+            case CURRENT:
+                return () -> current.apply(LocalDateTime.now());
+            case PAST:
+                return () -> past.apply(LocalDateTime.now());
+            case FUTURE:
+                return () -> future.apply(LocalDateTime.now());
+            case WAITING:
+                return () -> byStatus.apply(Status.WAITING);
+            case REJECTED:
+                return () -> byStatus.apply(Status.REJECTED);
+            default:
+                throw new AccessException("Unknown state: UNSUPPORTED_STATUS");
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CommentShortDto;
+import ru.practicum.shareit.user.service.UserIdentityCache;
 
 @Component
 public class CommentMapper {
@@ -12,6 +13,10 @@ public class CommentMapper {
                 comment.getCreated());
     }
 
+    public CommentDto toCommentDto(Comment comment, UserIdentityCache.Identity author) {
+        return new CommentDto(comment.getId(), comment.getText(), author.getName(), comment.getCreated());
+    }
+
     public Comment toComment(CommentShortDto comment) {
         return new Comment(comment.getId(), comment.getText(), comment.getCreated());
     }
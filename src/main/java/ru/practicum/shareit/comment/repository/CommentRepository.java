@@ -1,15 +1,33 @@
 package ru.practicum.shareit.comment.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.comment.dto.CommentCountDto;
 import ru.practicum.shareit.comment.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> getAllByItemId(Long itemId);
+    @EntityGraph(attributePaths = "author")
+    @Query("select c from Comment c where c.item.id = :itemId")
+    List<Comment> findPageByItemId(Long itemId, Pageable page);
 
-    List<Comment> getAllByItemIdIn(List<Long> items, Sort sort);
+    @Query(value = "select ranked.id from (select c.id, row_number() over (partition by c.item_id " +
+            "order by c.created desc, c.id desc) as rn from comments c where c.item_id in :itemIds) ranked " +
+            "where ranked.rn <= :limit", nativeQuery = true)
+    List<Long> findPreviewIds(Collection<Long> itemIds, int limit);
+
+    @EntityGraph(attributePaths = "author")
+    @Query("select c from Comment c where c.id in :ids")
+    List<Comment> findAllWithAuthorByIdIn(Collection<Long> ids, Sort sort);
+
+    @Query("select new ru.practicum.shareit.comment.dto.CommentCountDto(c.item.id, count(c)) from Comment c " +
+            "where c.author.id = :authorId group by c.item.id")
+    List<CommentCountDto> countByAuthorIdPerItem(Long authorId);
 }
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.datasource;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Миграция 1.1: переносит последовательности id за уже существующие строки.
+ * В базах, созданных прежним schema.sql, строки получили id из identity-колонок, а последовательности
+ * начинаются с 1. Hibernate с allocationSize = 50 берёт из значения последовательности диапазон
+ * (значение - 49, значение], поэтому последовательность перезапускается с max(id) + 50.
+ */
+@Component
+public class IdSequencesMigration implements JavaMigration {
+    private static final int ALLOCATION_SIZE = 50;
+    private static final List<String> TABLES = List.of("items", "comments", "bookings");
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("1.1");
+    }
+
+    @Override
+    public String getDescription() {
+        return "id sequences";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean isUndo() {
+        return false;
+    }
+
+    @Override
+    public boolean isBaselineMigration() {
+        return false;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : TABLES) {
+                long maxId;
+                try (ResultSet result = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+                    result.next();
+                    maxId = result.getLong(1);
+                }
+                if (maxId > 0) {
+                    statement.execute("alter sequence " + table + "_seq restart with " + (maxId + ALLOCATION_SIZE));
+                }
+            }
+        }
+    }
+}
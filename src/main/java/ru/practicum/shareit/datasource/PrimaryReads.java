@@ -0,0 +1,47 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Чтения, которые всегда идут в основную базу, — загрузчики общих кэшей.
+ * Кэш сбрасывается после коммита записи, и следующим его может заполнить любой пользователь: окно
+ * «читай свои записи» на него не распространяется, и строка с отстающей реплики разошлась бы всем до конца TTL.
+ * Соединение read-only транзакции могло уже уйти в реплику, поэтому внутри неё загрузчик получает свою.
+ */
+@Component
+public class PrimaryReads {
+    private static final ThreadLocal<Boolean> FORCED = new ThreadLocal<>();
+    private final boolean enabled;
+    private final TransactionTemplate newReadOnlyTransaction;
+
+    public PrimaryReads(ReplicaProperties properties, PlatformTransactionManager transactionManager) {
+        enabled = properties.getUrl() != null;
+        newReadOnlyTransaction = new TransactionTemplate(transactionManager);
+        newReadOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        newReadOnlyTransaction.setReadOnly(true);
+    }
+
+    public <T> T load(Supplier<T> loader) {
+        boolean transaction = TransactionSynchronizationManager.isActualTransactionActive();
+        if (!enabled || transaction && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || FORCED.get() != null) {
+            return loader.get();
+        }
+        FORCED.set(Boolean.TRUE);
+        try {
+            return transaction ? newReadOnlyTransaction.execute(status -> loader.get()) : loader.get();
+        } finally {
+            FORCED.remove();
+        }
+    }
+
+    static boolean isForced() {
+        return FORCED.get() != null;
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ru.practicum.shareit.util.ThreadContext;
+import ru.practicum.shareit.util.TransactionHooks;
+
+/**
+ * Окно «читай свои записи»: после закоммиченной записи чтения пользователя какое-то время идут в основную базу,
+ * чтобы не получить устаревшие данные с отстающей реплики.
+ * Пользователь привязан к потоку и переносится в задачи пулов через {@link ThreadContext#propagate}.
+ */
+public class ReadYourWrites {
+    private static final ThreadLocal<Long> USER = ThreadContext.propagated();
+    private final Cache<Long, Boolean> writers;
+
+    public ReadYourWrites(ReplicaProperties properties) {
+        writers = properties.getStickiness().isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumStickyUsers())
+                .expireAfterWrite(properties.getStickiness())
+                .build();
+    }
+
+    public void recordWrite() {
+        Long userId = USER.get();
+        if (writers != null && userId != null) {
+            TransactionHooks.afterCommit(() -> writers.put(userId, Boolean.TRUE));
+        }
+    }
+
+    public boolean isSticky() {
+        Long userId = USER.get();
+        return writers != null && userId != null && writers.getIfPresent(userId) != null;
+    }
+
+    public static void bind(Long userId) {
+        USER.set(userId);
+    }
+
+    public static void unbind() {
+        USER.remove();
+    }
+}
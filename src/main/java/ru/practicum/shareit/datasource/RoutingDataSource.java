@@ -0,0 +1,39 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Направляет read-only транзакции в реплику, всё остальное — в основную базу.
+ * Исключения — окно {@link ReadYourWrites} и загрузчики кэшей через {@link PrimaryReads}.
+ * Решение принимается при первом обращении к соединению, поэтому источник нужно оборачивать
+ * в LazyConnectionDataSourceProxy: к этому моменту признак read-only транзакции уже выставлен.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+    private final ReadYourWrites readYourWrites;
+
+    public RoutingDataSource(DataSource primary, DataSource replica, ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.recordWrite();
+            }
+            return Route.PRIMARY;
+        }
+        return readYourWrites.isSticky() || PrimaryReads.isForced() ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+}
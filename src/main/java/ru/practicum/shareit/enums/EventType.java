@@ -0,0 +1,7 @@
+package ru.practicum.shareit.enums;
+
+public enum EventType {
+    BOOKING_CREATED,
+    BOOKING_APPROVED,
+    BOOKING_REJECTED
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.enums.EventType;
+import ru.practicum.shareit.enums.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Событие бронирования для получателя. Доставка «хотя бы один раз»: повторы отсеиваются по id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingEvent {
+    private Long id;
+    private EventType type;
+    private Long bookingId;
+    private Long itemId;
+    private Long recipientId;
+    private Status status;
+    private LocalDateTime created;
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.event.mapper;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.enums.EventType;
+import ru.practicum.shareit.event.dto.BookingEvent;
+import ru.practicum.shareit.event.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+@Component
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingEventMapper {
+
+    public OutboxEvent toOutboxEvent(Booking booking, EventType type, Long recipientId, LocalDateTime now) {
+        return new OutboxEvent(null,
+                type,
+                booking.getId(),
+                booking.getItem().getId(),
+                recipientId,
+                booking.getStatus(),
+                now,
+                0,
+                now);
+    }
+
+    public BookingEvent toBookingEvent(OutboxEvent event) {
+        return new BookingEvent(event.getId(),
+                event.getType(),
+                event.getBookingId(),
+                event.getItemId(),
+                event.getRecipientId(),
+                event.getStatus(),
+                event.getCreated());
+    }
+}
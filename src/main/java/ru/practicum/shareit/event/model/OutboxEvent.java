@@ -0,0 +1,60 @@
+package ru.practicum.shareit.event.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.enums.EventType;
+import ru.practicum.shareit.enums.Status;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type")
+    private EventType type;
+    @Column(name = "booking_id")
+    private Long bookingId;
+    @Column(name = "item_id")
+    private Long itemId;
+    @Column(name = "recipient_id")
+    private Long recipientId;
+    @Enumerated(EnumType.STRING)
+    private Status status;
+    private LocalDateTime created;
+    private int attempts;
+    @Column(name = "available_at")
+    private LocalDateTime availableAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OutboxEvent event = (OutboxEvent) o;
+        return Objects.equals(id, event.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+                "id=" + id +
+                ", type=" + type +
+                ", bookingId=" + bookingId +
+                '}';
+    }
+}
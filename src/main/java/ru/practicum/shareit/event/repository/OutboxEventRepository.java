@@ -0,0 +1,21 @@
+package ru.practicum.shareit.event.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.event.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("select e from OutboxEvent e where e.availableAt <= :now order by e.id")
+    List<OutboxEvent> findReady(LocalDateTime now, Pageable page);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.availableAt = :availableAt where e.id in :ids")
+    int postpone(Collection<Long> ids, LocalDateTime availableAt);
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.event.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.enums.EventType;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.event.mapper.BookingEventMapper;
+import ru.practicum.shareit.event.model.OutboxEvent;
+import ru.practicum.shareit.event.repository.OutboxEventRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Записывает события бронирований в outbox в той же транзакции, что и само изменение,
+ * поэтому событие появляется тогда и только тогда, когда изменение закоммичено.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class BookingEventPublisher {
+    private final OutboxEventRepository repository;
+    private final BookingEventMapper mapper;
+
+    public void bookingsCreated(List<Booking> bookings) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            events.add(mapper.toOutboxEvent(booking, EventType.BOOKING_CREATED, booking.getOwnerId(), now));
+        }
+        repository.saveAll(events);
+    }
+
+    public void statusChanged(Booking booking) {
+        EventType type = booking.getStatus() == Status.APPROVED ? EventType.BOOKING_APPROVED
+                : EventType.BOOKING_REJECTED;
+        repository.save(mapper.toOutboxEvent(booking, type, booking.getBooker().getId(), LocalDateTime.now()));
+    }
+}
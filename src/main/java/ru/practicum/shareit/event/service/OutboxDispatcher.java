@@ -0,0 +1,96 @@
+package ru.practicum.shareit.event.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.event.mapper.BookingEventMapper;
+import ru.practicum.shareit.event.model.OutboxEvent;
+import ru.practicum.shareit.event.repository.OutboxEventRepository;
+import ru.practicum.shareit.event.sink.EventSink;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Разбирает outbox пакетами и отдаёт события приёмнику.
+ * Событие удаляется только после того, как приёмник его принял, поэтому доставка — «хотя бы один раз».
+ * Если приёмник принял не весь пакет, проход заканчивается, а остаток ждёт следующего прохода.
+ * Если приёмник упал, пакет откладывается с экспоненциально растущей паузой.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+    private final OutboxEventRepository repository;
+    private final BookingEventMapper mapper;
+    private final EventSink sink;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter delivered;
+    private final Counter failed;
+
+    public OutboxDispatcher(OutboxEventRepository repository, BookingEventMapper mapper, EventSink sink,
+                            OutboxProperties properties, PlatformTransactionManager transactionManager,
+                            MeterRegistry registry) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.sink = sink;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.delivered = Counter.builder("shareit.outbox.delivered").register(registry);
+        this.failed = Counter.builder("shareit.outbox.failed").register(registry);
+    }
+
+    /**
+     * @return сколько событий доставлено за проход
+     */
+    public int dispatch() {
+        int total = 0;
+        for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+            List<OutboxEvent> batch = transactionTemplate.execute(status -> repository.findReady(LocalDateTime.now(),
+                    PageRequest.of(0, properties.getBatchSize())));
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            int accepted;
+            try {
+                accepted = sink.publish(batch.stream().map(mapper::toBookingEvent).collect(Collectors.toList()));
+            } catch (RuntimeException e) {
+                log.warn("Не удалось доставить {} событий: {}", batch.size(), e.toString());
+                postpone(batch);
+                failed.increment(batch.size());
+                break;
+            }
+            if (accepted > 0) {
+                List<Long> ids = batch.subList(0, accepted).stream()
+                        .map(OutboxEvent::getId)
+                        .collect(Collectors.toList());
+                transactionTemplate.executeWithoutResult(status -> repository.deleteAllByIdInBatch(ids));
+                delivered.increment(accepted);
+                total += accepted;
+            }
+            if (accepted < batch.size()) {
+                log.debug("Приёмник событий переполнен, в outbox осталось не меньше {} событий",
+                        batch.size() - accepted);
+                break;
+            }
+        }
+        return total;
+    }
+
+    private void postpone(List<OutboxEvent> batch) {
+        int attempts = batch.stream().mapToInt(OutboxEvent::getAttempts).max().orElse(0);
+        Duration backoff = properties.getRetryBackoff().multipliedBy(1L << Math.min(attempts, 20));
+        if (backoff.compareTo(properties.getMaxRetryBackoff()) > 0) {
+            backoff = properties.getMaxRetryBackoff();
+        }
+        LocalDateTime availableAt = LocalDateTime.now().plus(backoff);
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+        transactionTemplate.executeWithoutResult(status -> repository.postpone(ids, availableAt));
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.event.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.outbox")
+public class OutboxProperties {
+    private boolean enabled = true;
+    private String sink = "log";
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private int batchSize = 100;
+    private int maxBatchesPerRun = 10;
+    private Duration retryBackoff = Duration.ofSeconds(1);
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+    private int memoryCapacity = 1000;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.event.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "shareit.outbox", name = "enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+public class OutboxSchedulingConfig implements SchedulingConfigurer {
+    private final OutboxDispatcher dispatcher;
+    private final OutboxProperties properties;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(dispatcher::dispatch, properties.getPollInterval().toMillis());
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.event.sink;
+
+import ru.practicum.shareit.event.dto.BookingEvent;
+
+import java.util.List;
+
+/**
+ * Получатель событий из outbox. Реализация выбирается свойством shareit.outbox.sink.
+ */
+public interface EventSink {
+
+    /**
+     * Принимает пакет событий по порядку.
+     *
+     * @return сколько событий с начала пакета принято; меньше размера пакета — приёмник переполнен,
+     * остальные события останутся в outbox до следующего прохода
+     */
+    int publish(List<BookingEvent> events);
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.event.sink;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.event.dto.BookingEvent;
+import ru.practicum.shareit.event.service.OutboxProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Ограниченная очередь в памяти для тестов. Когда очередь заполнена, новые события не принимаются.
+ */
+@Component
+@ConditionalOnProperty(prefix = "shareit.outbox", name = "sink", havingValue = "memory")
+public class InMemoryEventSink implements EventSink {
+    private final BlockingQueue<BookingEvent> queue;
+
+    public InMemoryEventSink(OutboxProperties properties) {
+        queue = new ArrayBlockingQueue<>(properties.getMemoryCapacity());
+    }
+
+    @Override
+    public int publish(List<BookingEvent> events) {
+        int accepted = 0;
+        for (BookingEvent event : events) {
+            if (!queue.offer(event)) {
+                break;
+            }
+            accepted++;
+        }
+        return accepted;
+    }
+
+    public List<BookingEvent> drain() {
+        List<BookingEvent> events = new ArrayList<>();
+        queue.drainTo(events);
+        return events;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.event.sink;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.event.dto.BookingEvent;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shareit.outbox", name = "sink", havingValue = "log", matchIfMissing = true)
+public class LoggingEventSink implements EventSink {
+
+    @Override
+    public int publish(List<BookingEvent> events) {
+        events.forEach(event -> log.info("Событие {}", event));
+        return events.size();
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.exception;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+
+@Slf4j
+@Getter
+public class BatchValidationException extends RuntimeException {
+    private final Map<Integer, String> errors;
+
+    public BatchValidationException(String message, Map<Integer, String> errors) {
+        super(message);
+        this.errors = errors;
+        log.error(message + ": " + errors);
+    }
+}
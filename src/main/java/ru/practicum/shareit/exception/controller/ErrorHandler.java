@@ -1,12 +1,22 @@
 package ru.practicum.shareit.exception.controller;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.exception.*;
+import ru.practicum.shareit.exception.model.BatchErrorResponse;
 import ru.practicum.shareit.exception.model.ErrorResponse;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+@Slf4j
 @RestControllerAdvice
 public class ErrorHandler {
     @ExceptionHandler
@@ -21,6 +31,27 @@ public class ErrorHandler {
         return new ErrorResponse(exception.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public BatchErrorResponse handleBatchValidationException(final BatchValidationException exception) {
+        return new BatchErrorResponse(exception.getMessage(), exception.getErrors().entrySet().stream()
+                .map(error -> new BatchErrorResponse.ElementError(error.getKey(), error.getValue()))
+                .collect(Collectors.toList()));
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConflictException(final ConflictException exception) {
+        return new ErrorResponse(exception.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailureException(final OptimisticLockingFailureException exception) {
+        log.warn("Конфликт версий: {}", exception.getMessage());
+        return new ErrorResponse("Объект изменён другим запросом, повторите запрос");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleObjectAlreadyExistsException(final ObjectAlreadyExistsException exception) {
@@ -33,6 +64,20 @@ public class ErrorHandler {
         return new ErrorResponse(exception.getMessage());
     }
 
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(final TooManyRequestsException exception) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(new ErrorResponse(exception.getMessage()));
+    }
+
+    @ExceptionHandler({TimeoutException.class, RejectedExecutionException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleOverloadException(final Exception exception) {
+        log.warn("Запрос не обработан вовремя: {}", exception.toString());
+        return new ErrorResponse("Сервис перегружен, повторите запрос позже");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleWrongAccessException(final WrongAccessException exception) {
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.exception.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@Getter
+public class BatchErrorResponse {
+
+    private final String error;
+    private final List<ElementError> errors;
+
+    @RequiredArgsConstructor
+    @Getter
+    public static class ElementError {
+        private final Integer index;
+        private final String error;
+    }
+}
@@ -1,29 +1,48 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CommentShortDto;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.util.Create;
+import ru.practicum.shareit.util.EntityVersion;
+import ru.practicum.shareit.util.IdempotencyStore;
 import ru.practicum.shareit.util.Update;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService itemService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
     public ItemDto create(@RequestHeader("X-Sharer-User-Id") Long userId,
-                          @Validated(Create.class) @RequestBody ItemShortDto item) {
-        return itemService.create(userId, item);
+                          @RequestHeader(value = IdempotencyStore.HEADER, required = false) String key,
+                          @Validated(Create.class) @RequestBody ItemShortDto item) throws TimeoutException {
+        return idempotencyStore.execute(key, userId, "POST /items", item, () -> itemService.create(userId, item));
+    }
+
+    @PostMapping("/batch")
+    public List<ItemDto> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                   @RequestBody List<ItemShortDto> items) {
+        return itemService.createAll(userId, items);
     }
 
     @PatchMapping("/{itemId}")
@@ -34,8 +53,15 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemDto getById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId) {
-        return itemService.getById(userId, itemId);
+    public CompletableFuture<ResponseEntity<ItemDto>> getById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                              @PathVariable Long itemId,
+                                                              WebRequest request) {
+        Optional<EntityVersion> version = itemService.getPublicVersion(userId, itemId);
+        if (version.isPresent() && request.checkNotModified(version.get().getTag(),
+                version.get().getLastModified())) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        }
+        return itemService.getById(userId, itemId).thenApply(ResponseEntity::ok);
     }
 
     @DeleteMapping("/{itemId}")
@@ -49,8 +75,30 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemShortDto> search(@RequestParam String text) {
-        return itemService.search(text);
+    public List<ItemShortDto> search(@RequestParam String text,
+                                     @RequestParam(required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                     @RequestParam(required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                     @RequestParam(defaultValue = "0") Integer offset,
+                                     @RequestParam(required = false) Integer size) {
+        return itemService.search(text, from, to, offset, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<TimeSlotDto> getAvailability(@PathVariable Long itemId,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                             LocalDateTime from,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                             LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public List<CommentDto> getComments(@PathVariable Long itemId,
+                                        @RequestParam(defaultValue = "0") Integer from,
+                                        @RequestParam(defaultValue = "20") Integer size) {
+        return itemService.getComments(itemId, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
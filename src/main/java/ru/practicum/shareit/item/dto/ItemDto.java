@@ -19,12 +19,15 @@ public class ItemDto {
     private BookingForItemDto lastBooking;
     private BookingForItemDto nextBooking;
     private List<CommentDto> comments;
+    private Integer commentCount;
 
-    public ItemDto(Long id, String name, String description, Boolean available, List<CommentDto> comments) {
+    public ItemDto(Long id, String name, String description, Boolean available, List<CommentDto> comments,
+                   Integer commentCount) {
         this.id = id;
         this.name = name;
         this.description = description;
         this.available = available;
         this.comments = comments;
+        this.commentCount = commentCount;
     }
 }
\ No newline at end of file
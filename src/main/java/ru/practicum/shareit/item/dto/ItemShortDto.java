@@ -19,4 +19,12 @@ public class ItemShortDto {
     private String description;
     @NotNull(message = " Поле статуса доступности не может быть пустым", groups = {Create.class})
     private Boolean available;
+    private Long requestId;
+
+    public ItemShortDto(Long id, String name, String description, Boolean available) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+    }
 }
@@ -11,15 +11,18 @@ import java.util.ArrayList;
 public class ItemMapper {
 
     public ItemShortDto toItemShortDto(Item item) {
-        return new ItemShortDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+        return new ItemShortDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getRequestId());
     }
 
     public Item toItem(ItemShortDto item) {
-        return new Item(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+        Item thisItem = new Item(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+        thisItem.setRequestId(item.getRequestId());
+        return thisItem;
     }
 
     public ItemDto toItemDto(Item item) {
         return new ItemDto(item.getId(), item.getName(), item.getDescription(),
-                item.getAvailable(), new ArrayList<>());
+                item.getAvailable(), new ArrayList<>(), item.getCommentCount());
     }
 }
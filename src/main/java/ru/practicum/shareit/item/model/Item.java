@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Data
@@ -15,16 +16,22 @@ import java.util.Objects;
 @Table(name = "items")
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String description;
     private Boolean available;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
     private User owner;
     @Column(name = "request_id")
     private Long requestId;
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    private int commentCount;
+    @Version
+    private Long version;
+    private LocalDateTime updated;
 
     public Item(Long id, String name, String description, Boolean available) {
         this.id = id;
@@ -33,6 +40,12 @@ public class Item {
         this.available = available;
     }
 
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updated = LocalDateTime.now();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
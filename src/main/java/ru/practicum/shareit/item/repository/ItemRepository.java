@@ -1,15 +1,54 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.dto.ItemVersion;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @Query("select i from Item i where i.owner.id = :id")
     List<Item> findItemByOwnerId(Long id);
 
-    List<Item> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailable(String name,
-                                                                                           String description,
-                                                                                           Boolean available);
+    @Query("select i.id from Item i where i.owner.id = :id")
+    List<Long> findIdsByOwnerId(Long id);
+
+    boolean existsByIdAndOwnerId(Long id, Long ownerId);
+
+    /**
+     * Товары из списка без бронирования в статусе status, пересекающего окно [from, to).
+     */
+    @Query("select i.id from Item i where i.id in :ids and not exists (select b.id from Booking b " +
+            "where b.item.id = i.id and b.status = :status and b.end > :from and b.start < :to)")
+    List<Long> findIdsFreeBetween(Collection<Long> ids, Status status, LocalDateTime from, LocalDateTime to);
+
+    @Modifying
+    @Query("update Item i set i.commentCount = i.commentCount + 1, i.version = i.version + 1, i.updated = :now " +
+            "where i.id = :id")
+    int incrementCommentCount(Long id, LocalDateTime now);
+
+    @Modifying
+    @Query("update Item i set i.commentCount = i.commentCount - :count, i.version = i.version + 1, " +
+            "i.updated = :now where i.id = :id")
+    int decreaseCommentCount(Long id, int count, LocalDateTime now);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemVersion(i.owner.id, i.version, i.updated) " +
+            "from Item i where i.id = :id")
+    Optional<ItemVersion> findVersionById(Long id);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemShortDto(i.id, i.name, i.description, i.available, " +
+            "i.requestId) from Item i")
+    List<ItemShortDto> findAllShort();
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemShortDto(i.id, i.name, i.description, i.available, " +
+            "i.requestId) from Item i where i.requestId in :requestIds order by i.id")
+    List<ItemShortDto> findAllShortByRequestIdIn(Collection<Long> requestIds);
 }
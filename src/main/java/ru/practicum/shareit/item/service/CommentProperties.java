@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.comments")
+public class CommentProperties {
+    private int previewSize = 10;
+}
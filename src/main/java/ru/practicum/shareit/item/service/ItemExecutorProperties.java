@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.executor.items")
+public class ItemExecutorProperties {
+    private int poolSize = 8;
+    private int queueCapacity = 200;
+    private Duration timeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,196 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.util.TransactionHooks;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс по названию и описанию товаров.
+ * Для подстрок хранит n-граммы длиной до {@value #GRAM}, для ранжирования — целые слова.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    private static final int GRAM = 3;
+    private final ItemRepository itemRepository;
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> grams = new HashMap<>();
+    private final Map<String, Set<Long>> tokens = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void build() {
+        List<ItemShortDto> items = itemRepository.findAllShort();
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            grams.clear();
+            tokens.clear();
+            items.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(ItemShortDto item) {
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(item.getId());
+                add(item);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long itemId) {
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public List<ItemShortDto> search(String text) {
+        String query = normalize(text);
+        lock.readLock().lock();
+        try {
+            Set<Long> exact = tokens.getOrDefault(query, Collections.emptySet());
+            List<Document> found = new ArrayList<>();
+            for (Long id : candidates(query)) {
+                Document document = documents.get(id);
+                if (document.item.getAvailable() && document.contains(query)) {
+                    found.add(document);
+                }
+            }
+            found.sort(Comparator.comparing((Document document) -> !exact.contains(document.item.getId()))
+                    .thenComparing(document -> !document.name.contains(query))
+                    .thenComparing(document -> document.item.getId()));
+            List<ItemShortDto> result = new ArrayList<>(found.size());
+            found.forEach(document -> result.add(document.copy()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> candidates(String query) {
+        if (query.length() <= GRAM) {
+            return grams.getOrDefault(query, Collections.emptySet());
+        }
+        List<Set<Long>> postings = new ArrayList<>();
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            Set<Long> posting = grams.get(query.substring(i, i + GRAM));
+            if (posting == null) {
+                return Collections.emptySet();
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        return result;
+    }
+
+    private void add(ItemShortDto item) {
+        Document document = new Document(item);
+        documents.put(item.getId(), document);
+        for (String key : document.grams()) {
+            grams.computeIfAbsent(key, k -> new HashSet<>()).add(item.getId());
+        }
+        for (String key : document.tokens()) {
+            tokens.computeIfAbsent(key, k -> new HashSet<>()).add(item.getId());
+        }
+    }
+
+    private void delete(Long itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        unlink(grams, document.grams(), itemId);
+        unlink(tokens, document.tokens(), itemId);
+    }
+
+    private static void unlink(Map<String, Set<Long>> postings, Set<String> keys, Long itemId) {
+        for (String key : keys) {
+            Set<Long> posting = postings.get(key);
+            if (posting != null) {
+                posting.remove(itemId);
+                if (posting.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Document {
+        private final ItemShortDto item;
+        private final String name;
+        private final String description;
+
+        private Document(ItemShortDto item) {
+            this.item = item;
+            this.name = normalize(item.getName());
+            this.description = normalize(item.getDescription());
+        }
+
+        private ItemShortDto copy() {
+            return new ItemShortDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                    item.getRequestId());
+        }
+
+        private boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        private Set<String> grams() {
+            Set<String> result = new HashSet<>();
+            for (String field : List.of(name, description)) {
+                for (int i = 0; i < field.length(); i++) {
+                    for (int length = 1; length <= GRAM && i + length <= field.length(); length++) {
+                        result.add(field.substring(i, i + length));
+                    }
+                }
+            }
+            return result;
+        }
+
+        private Set<String> tokens() {
+            Set<String> result = new HashSet<>();
+            for (String field : List.of(name, description)) {
+                for (String token : field.split("[^\\p{L}\\p{N}]+")) {
+                    if (!token.isEmpty()) {
+                        result.add(token);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
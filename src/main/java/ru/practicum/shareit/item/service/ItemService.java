@@ -4,15 +4,28 @@ import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CommentShortDto;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
+import ru.practicum.shareit.util.EntityVersion;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface ItemService {
     ItemDto create(Long userId, ItemShortDto item);
 
+    List<ItemDto> createAll(Long userId, List<ItemShortDto> items);
+
     ItemDto update(Long userId, Long itemId, ItemShortDto item);
 
-    ItemDto getById(Long userId, Long itemId);
+    CompletableFuture<ItemDto> getById(Long userId, Long itemId);
+
+    /**
+     * Версия публичного представления товара; для владельца пусто, потому что его представление
+     * содержит ближайшие бронирования и меняется со временем.
+     */
+    Optional<EntityVersion> getPublicVersion(Long userId, Long itemId);
 
     CommentDto createComment(Long itemId, Long userId, CommentShortDto comment);
 
@@ -20,5 +33,13 @@ public interface ItemService {
 
     List<ItemDto> getByUserId(Long id);
 
-    List<ItemShortDto> search(String text);
+    List<CommentDto> getComments(Long itemId, Integer from, Integer size);
+
+    /**
+     * Доступные товары по тексту в порядке релевантности, начиная с offset.
+     * Без size возвращаются все найденные товары; окно from/to отбрасывает товары с подтверждённой бронью в нём.
+     */
+    List<ItemShortDto> search(String text, LocalDateTime from, LocalDateTime to, Integer offset, Integer size);
+
+    List<TimeSlotDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -1,12 +1,17 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CommentShortDto;
@@ -14,20 +19,34 @@ import ru.practicum.shareit.comment.mapper.CommentMapper;
 import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.enums.Status;
 import ru.practicum.shareit.exception.AccessException;
+import ru.practicum.shareit.exception.BatchValidationException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemVersion;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserIdentityCache;
+import ru.practicum.shareit.util.BatchValidator;
+import ru.practicum.shareit.util.Create;
+import ru.practicum.shareit.util.EntityVersion;
+import ru.practicum.shareit.util.OffsetPageRequest;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static org.springframework.data.domain.Sort.Direction.DESC;
@@ -36,22 +55,65 @@ import static org.springframework.data.domain.Sort.Direction.DESC;
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final ItemViewCache.OwnerView NO_BOOKINGS = new ItemViewCache.OwnerView(null, null);
+    private static final Sort COMMENTS_ORDER = Sort.by(DESC, "created").and(Sort.by(DESC, "id"));
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserIdentityCache users;
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
+    private final BookingIntervalIndex intervalIndex;
     private final ItemMapper mapper;
+    private final ItemSearchIndex searchIndex;
+    private final ItemViewCache itemViewCache;
+    private final BatchValidator batchValidator;
+    private final ItemViewExecutor itemViewExecutor;
+    private final ItemRequestRepository requestRepository;
+    private final CommentProperties commentProperties;
 
     @Transactional
     @Override
     public ItemDto create(Long userId, ItemShortDto item) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new ObjectNotFoundException("Пользователь не найден"));
+        if (item.getRequestId() != null && !requestRepository.existsById(item.getRequestId())) {
+            throw new ObjectNotFoundException("Запрос не найден");
+        }
         Item thisItem = mapper.toItem(item);
-        thisItem.setOwner(user);
-        return mapper.toItemDto(itemRepository.save(thisItem));
+        thisItem.setOwner(users.reference(userId));
+        Item savedItem = itemRepository.save(thisItem);
+        searchIndex.index(mapper.toItemShortDto(savedItem));
+        return mapper.toItemDto(savedItem);
+    }
+
+    @Transactional
+    @Override
+    public List<ItemDto> createAll(Long userId, List<ItemShortDto> items) {
+        User owner = users.reference(userId);
+        Map<Integer, String> errors = batchValidator.validate(items, Create.class);
+        Set<Long> requestIds = requestRepository.findAllById(items.stream()
+                        .filter(item -> item != null && item.getRequestId() != null)
+                        .map(ItemShortDto::getRequestId)
+                        .collect(Collectors.toSet())).stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toSet());
+        for (int i = 0; i < items.size(); i++) {
+            ItemShortDto item = items.get(i);
+            if (item != null && item.getRequestId() != null && !requestIds.contains(item.getRequestId())) {
+                errors.merge(i, "Запрос не найден", (previous, error) -> previous + "; " + error);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new BatchValidationException("Ошибка валидации пакета товаров", errors);
+        }
+        List<Item> thisItems = new ArrayList<>(items.size());
+        for (ItemShortDto item : items) {
+            Item thisItem = mapper.toItem(item);
+            thisItem.setOwner(owner);
+            thisItems.add(thisItem);
+        }
+        List<Item> savedItems = itemRepository.saveAll(thisItems);
+        savedItems.forEach(savedItem -> searchIndex.index(mapper.toItemShortDto(savedItem)));
+        return savedItems.stream().map(mapper::toItemDto).collect(Collectors.toList());
     }
 
     @Transactional
@@ -71,30 +133,47 @@ public class ItemServiceImpl implements ItemService {
         if (item.getAvailable() != null) {
             thisItem.setAvailable(item.getAvailable());
         }
+        itemViewCache.evictPublicView(itemId);
+        searchIndex.index(mapper.toItemShortDto(thisItem));
         return mapper.toItemDto(thisItem);
     }
 
     @Override
-    public ItemDto getById(Long userId, Long itemId) {
-        Item thisItem = itemRepository.findById(itemId).orElseThrow(
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<ItemDto> getById(Long userId, Long itemId) {
+        CompletableFuture<ItemViewCache.PublicView> view = itemViewExecutor.supply(
+                () -> itemViewCache.getPublicView(itemId, this::loadPublicView));
+        CompletableFuture<Boolean> owner = itemViewCache.findPublicView(itemId)
+                .map(cached -> CompletableFuture.completedFuture(cached.getOwnerId().equals(userId)))
+                .orElseGet(() -> itemViewExecutor.supply(() -> itemRepository.existsByIdAndOwnerId(itemId, userId)));
+        CompletableFuture<ItemViewCache.OwnerView> bookings = owner.thenCompose(isOwner -> isOwner
+                ? itemViewExecutor.supply(() -> itemViewCache.getOwnerView(itemId, this::loadOwnerView))
+                : CompletableFuture.completedFuture(null));
+        return itemViewExecutor.withTimeout(view.thenCombine(bookings, (thisView, thisBookings) -> {
+            ItemDto item = new ItemDto(itemId, thisView.getName(), thisView.getDescription(),
+                    thisView.getAvailable(), new ArrayList<>(thisView.getComments()), thisView.getCommentCount());
+            if (thisBookings != null) {
+                item.setLastBooking(thisBookings.getLastBooking());
+                item.setNextBooking(thisBookings.getNextBooking());
+            }
+            return item;
+        }));
+    }
+
+    @Override
+    public Optional<EntityVersion> getPublicVersion(Long userId, Long itemId) {
+        ItemVersion version = itemRepository.findVersionById(itemId).orElseThrow(
                 () -> new ObjectNotFoundException("Товар не найден"));
-        List<ItemDto> itemDtoList = new ArrayList<>();
-        itemDtoList.add(mapper.toItemDto(thisItem));
-        if (thisItem.getOwner().getId().equals(userId)) {
-            List<Long> items = itemDtoList.stream().map(ItemDto::getId).collect(Collectors.toList());
-            getBookingsByItem(itemDtoList, items);
+        if (version.getOwnerId().equals(userId)) {
+            return Optional.empty();
         }
-        ItemDto item = itemDtoList.get(0);
-        item.setComments(commentRepository.getAllByItemId(itemId).stream().map(commentMapper::toCommentDto)
-                .collect(Collectors.toList()));
-        return item;
+        return Optional.of(new EntityVersion(version.getVersion(), version.getUpdated()));
     }
 
     @Transactional
     @Override
     public CommentDto createComment(Long itemId, Long userId, CommentShortDto comment) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new ObjectNotFoundException("Пользователь не найден"));
+        UserIdentityCache.Identity author = users.require(userId);
         Item item = itemRepository.findById(itemId).orElseThrow(
                 () -> new ObjectNotFoundException("Товар не найден"));
         if (bookingRepository.findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(
@@ -103,16 +182,21 @@ public class ItemServiceImpl implements ItemService {
         }
         Comment thisComment = commentMapper.toComment(comment);
         thisComment.setItem(item);
-        thisComment.setAuthor(user);
+        thisComment.setAuthor(users.reference(userId));
         thisComment.setCreated(LocalDateTime.now());
         commentRepository.save(thisComment);
-        return commentMapper.toCommentDto(thisComment);
+        itemRepository.incrementCommentCount(itemId, LocalDateTime.now());
+        itemViewCache.evictPublicView(itemId);
+        return commentMapper.toCommentDto(thisComment, author);
     }
 
     @Transactional
     @Override
     public void deleteById(Long userId, Long id) {
         itemRepository.deleteById(id);
+        intervalIndex.evict(id);
+        searchIndex.remove(id);
+        itemViewCache.evict(id);
     }
 
     @Override
@@ -121,40 +205,146 @@ public class ItemServiceImpl implements ItemService {
         List<ItemDto> itemDtoList = items.stream().map(mapper::toItemDto).collect(Collectors.toList());
         List<Long> itemsIds = itemDtoList.stream().map(ItemDto::getId).collect(Collectors.toList());
         getBookingsByItem(itemDtoList, itemsIds);
-        Map<Long, List<CommentDto>> comments = commentRepository
-                .getAllByItemIdIn(itemsIds, Sort.by(DESC, "created"))
-                .stream()
-                .map(commentMapper::toCommentDto)
-                .collect(Collectors.groupingBy(CommentDto::getId));
-        itemDtoList.forEach(i -> i.setComments(comments.get(i.getId())));
+        Map<Long, List<CommentDto>> comments = getCommentPreviews(itemsIds);
+        itemDtoList.forEach(i -> i.setComments(comments.getOrDefault(i.getId(), new ArrayList<>())));
         return itemDtoList;
     }
 
     @Override
-    public List<ItemShortDto> search(String text) {
-        Boolean available = true;
+    public List<CommentDto> getComments(Long itemId, Integer from, Integer size) {
+        Pageable page = OffsetPageRequest.fromRequest(from, size, COMMENTS_ORDER);
+        if (!itemRepository.existsById(itemId)) {
+            throw new ObjectNotFoundException("Товар не найден");
+        }
+        return commentRepository.findPageByItemId(itemId, page).stream()
+                .map(commentMapper::toCommentDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemShortDto> search(String text, LocalDateTime from, LocalDateTime to, Integer offset,
+                                     Integer size) {
+        if (offset < 0) {
+            throw new ValidationException("Параметр offset не может быть отрицательным");
+        }
+        if (size != null) {
+            OffsetPageRequest.checkSize(size);
+        }
+        if ((from == null) != (to == null) || from != null && !from.isBefore(to)) {
+            throw new ValidationException("Окно задаётся параметрами from и to вместе, и from должен быть раньше to");
+        }
         if (text.isBlank()) {
             return new ArrayList<>();
         }
-        return itemRepository
-                .findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailable(text, text, available)
-                .stream().map(mapper::toItemShortDto).collect(Collectors.toList());
+        List<ItemShortDto> found = searchIndex.search(text);
+        int limit = size == null ? Integer.MAX_VALUE : size;
+        if (from == null) {
+            int start = Math.min(offset, found.size());
+            return new ArrayList<>(found.subList(start, (int) Math.min((long) start + limit, found.size())));
+        }
+        return availableBetween(found, from, to, offset, limit);
+    }
+
+    /**
+     * Отбрасывает товары с пересекающимся подтверждённым бронированием, сохраняя порядок релевантности.
+     * Свободные кандидаты выбираются одним запросом с not exists по индексу (item_id, status, end_date).
+     */
+    private List<ItemShortDto> availableBetween(List<ItemShortDto> found, LocalDateTime from, LocalDateTime to,
+                                                int offset, int size) {
+        if (found.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> free = new HashSet<>(itemRepository.findIdsFreeBetween(found.stream()
+                .map(ItemShortDto::getId)
+                .collect(Collectors.toList()), Status.APPROVED, from, to));
+        return found.stream()
+                .filter(item -> free.contains(item.getId()))
+                .skip(offset)
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<TimeSlotDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало окна должно быть раньше конца");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new ObjectNotFoundException("Товар не найден");
+        }
+        List<TimeSlotDto> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (TimeSlotDto occupied : bookingRepository.findOccupiedSlots(itemId, BookingIntervalIndex.ACTIVE_STATUSES,
+                from, to)) {
+            if (occupied.getStart().isAfter(cursor)) {
+                free.add(new TimeSlotDto(cursor, occupied.getStart()));
+            }
+            if (occupied.getEnd().isAfter(cursor)) {
+                cursor = occupied.getEnd();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new TimeSlotDto(cursor, to));
+        }
+        return free;
+    }
+
+    private ItemViewCache.PublicView loadPublicView(Long itemId) {
+        Item item = itemRepository.findById(itemId).orElseThrow(
+                () -> new ObjectNotFoundException("Товар не найден"));
+        List<CommentDto> comments = commentRepository.findPageByItemId(itemId,
+                        PageRequest.of(0, commentProperties.getPreviewSize(), COMMENTS_ORDER)).stream()
+                .map(commentMapper::toCommentDto)
+                .collect(Collectors.toUnmodifiableList());
+        return new ItemViewCache.PublicView(item.getOwner().getId(), item.getName(), item.getDescription(),
+                item.getAvailable(), comments, item.getCommentCount());
+    }
+
+    private Map<Long, List<CommentDto>> getCommentPreviews(List<Long> items) {
+        if (items.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = commentRepository.findPreviewIds(items, commentProperties.getPreviewSize());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return commentRepository.findAllWithAuthorByIdIn(ids, COMMENTS_ORDER).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::toCommentDto, Collectors.toList())));
+    }
+
+    private ItemViewCache.OwnerView loadOwnerView(Long itemId) {
+        return getBookingsByItem(List.of(itemId)).getOrDefault(itemId, NO_BOOKINGS);
     }
 
     private void getBookingsByItem(List<ItemDto> itemDtoList, List<Long> items) {
-        Map<Long, BookingForItemDto> lastBookings = bookingRepository.findFirstByItemIdInAndStartLessThanEqualAndStatus(
-                        items, LocalDateTime.now(), Status.APPROVED, Sort.by(DESC, "start"))
-                .stream()
-                .map(bookingMapper::bookingForItemDto)
-                .collect(Collectors.toMap(BookingForItemDto::getItemId, Function.identity()));
-        Map<Long, BookingForItemDto> nextBookings = bookingRepository.findFirstByItemIdInAndStartAfterAndStatus(
-                        items, LocalDateTime.now(), Status.APPROVED, Sort.by(Sort.Direction.ASC, "start"))
-                .stream()
-                .map(bookingMapper::bookingForItemDto)
-                .collect(Collectors.toMap(BookingForItemDto::getItemId, Function.identity()));
+        Map<Long, ItemViewCache.OwnerView> bookings = getBookingsByItem(items);
         for (ItemDto item: itemDtoList) {
-            item.setLastBooking(lastBookings.get(item.getId()));
-            item.setNextBooking(nextBookings.get(item.getId()));
+            ItemViewCache.OwnerView view = bookings.getOrDefault(item.getId(), NO_BOOKINGS);
+            item.setLastBooking(view.getLastBooking());
+            item.setNextBooking(view.getNextBooking());
+        }
+    }
+
+    private Map<Long, ItemViewCache.OwnerView> getBookingsByItem(List<Long> items) {
+        if (items.isEmpty()) {
+            return Map.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingForItemDto> lastBookings = new HashMap<>();
+        Map<Long, BookingForItemDto> nextBookings = new HashMap<>();
+        for (Booking booking : bookingRepository.findLastAndNextByItemIdIn(items, now, Status.APPROVED.name())) {
+            BookingForItemDto dto = bookingMapper.bookingForItemDto(booking);
+            if (booking.getStart().isAfter(now)) {
+                nextBookings.put(dto.getItemId(), dto);
+            } else {
+                lastBookings.put(dto.getItemId(), dto);
+            }
+        }
+        Map<Long, ItemViewCache.OwnerView> result = new HashMap<>();
+        for (Long item : items) {
+            result.put(item, new ItemViewCache.OwnerView(lastBookings.get(item), nextBookings.get(item)));
         }
+        return result;
     }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.datasource.PrimaryReads;
+import ru.practicum.shareit.util.TransactionHooks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Кэш собранных частей ItemDto: общедоступная (товар и комментарии) и видимая владельцу (ближайшие бронирования).
+ * Записи сбрасываются после коммита изменений, затрагивающих товар, и загружаются из основной базы.
+ * Видимая владельцу часть к тому же истекает в момент начала ближайшего бронирования:
+ * с этого момента оно становится последним, и ближайшим — следующее.
+ */
+@Component
+public class ItemViewCache {
+    private final Cache<Long, PublicView> publicViews;
+    private final Cache<Long, OwnerView> ownerViews;
+    private final PrimaryReads primaryReads;
+
+    public ItemViewCache(ItemCacheProperties properties, MeterRegistry registry, PrimaryReads primaryReads) {
+        this.primaryReads = primaryReads;
+        publicViews = CaffeineCacheMetrics.monitor(registry, build(properties), "items.public");
+        ownerViews = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new OwnerViewExpiry(properties.getTtl()))
+                .recordStats()
+                .<Long, OwnerView>build(), "items.owner");
+    }
+
+    public PublicView getPublicView(Long itemId, Function<Long, PublicView> loader) {
+        return publicViews.get(itemId, id -> primaryReads.load(() -> loader.apply(id)));
+    }
+
+    public Optional<PublicView> findPublicView(Long itemId) {
+        return Optional.ofNullable(publicViews.getIfPresent(itemId));
+    }
+
+    public OwnerView getOwnerView(Long itemId, Function<Long, OwnerView> loader) {
+        return ownerViews.get(itemId, id -> primaryReads.load(() -> loader.apply(id)));
+    }
+
+    public void evictPublicView(Long itemId) {
+        TransactionHooks.afterCommit(() -> publicViews.invalidate(itemId));
+    }
+
+    public void evictOwnerView(Long itemId) {
+        TransactionHooks.afterCommit(() -> ownerViews.invalidate(itemId));
+    }
+
+    public void evict(Long itemId) {
+        TransactionHooks.afterCommit(() -> {
+            publicViews.invalidate(itemId);
+            ownerViews.invalidate(itemId);
+        });
+    }
+
+    private static <V> Cache<Long, V> build(ItemCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    private static class OwnerViewExpiry implements Expiry<Long, OwnerView> {
+        private final long ttl;
+
+        private OwnerViewExpiry(Duration ttl) {
+            this.ttl = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long itemId, OwnerView view, long currentTime) {
+            if (view.getNextBooking() == null) {
+                return ttl;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime start = view.getNextBooking().getStart();
+            if (start.isAfter(now.plusNanos(ttl))) {
+                return ttl;
+            }
+            return Math.max(0, Duration.between(now, start).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(Long itemId, OwnerView view, long currentTime, long currentDuration) {
+            return expireAfterCreate(itemId, view, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long itemId, OwnerView view, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    @Value
+    public static class PublicView {
+        Long ownerId;
+        String name;
+        String description;
+        Boolean available;
+        List<CommentDto> comments;
+        int commentCount;
+    }
+
+    @Value
+    public static class OwnerView {
+        BookingForItemDto lastBooking;
+        BookingForItemDto nextBooking;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.util.ThreadContext;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Ограниченный пул для параллельной сборки ItemDto.
+ * При заполненной очереди задача отклоняется с RejectedExecutionException, а не выполняется в вызывающем потоке.
+ */
+@Component
+public class ItemViewExecutor {
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public ItemViewExecutor(ItemExecutorProperties properties, MeterRegistry registry) {
+        executor = new ThreadPoolExecutor(properties.getPoolSize(), properties.getPoolSize(),
+                1, TimeUnit.MINUTES, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("item-view-"), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        ExecutorServiceMetrics.monitor(registry, executor, "items.view");
+        timeout = properties.getTimeout();
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(ThreadContext.propagate(task), executor);
+    }
+
+    public <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future) {
+        return future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
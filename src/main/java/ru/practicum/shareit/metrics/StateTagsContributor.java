@@ -0,0 +1,50 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.enums.State;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Добавляет к http.server.requests тег state для списков и выгрузок бронирований; остальные запросы, в том числе
+ * GET /bookings/{id}, получают state=none.
+ * Неизвестные значения сводятся к UNSUPPORTED_STATUS, чтобы число серий оставалось ограниченным.
+ */
+@Component
+public class StateTagsContributor implements WebMvcTagsContributor {
+    private static final Set<String> STATES = Arrays.stream(State.values())
+            .map(State::name)
+            .collect(Collectors.toUnmodifiableSet());
+    private static final Set<String> LISTS = Set.of("/bookings", "/bookings/owner", "/bookings/export",
+            "/bookings/owner/export");
+    private static final Tag NONE = Tag.of("state", "none");
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                 Throwable exception) {
+        return Tags.of(stateTag(request));
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.of(stateTag(request));
+    }
+
+    private static Tag stateTag(HttpServletRequest request) {
+        if (!request.getMethod().equals("GET") || !LISTS.contains(request.getRequestURI())) {
+            return NONE;
+        }
+        String state = request.getParameter("state");
+        if (state == null) {
+            return Tag.of("state", State.ALL.name());
+        }
+        return Tag.of("state", STATES.contains(state) ? state : State.UNSUPPORTED_STATUS.name());
+    }
+}
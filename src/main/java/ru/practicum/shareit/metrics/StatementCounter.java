@@ -0,0 +1,44 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.util.ThreadContext;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Считает SQL-запросы, подготовленные Hibernate в рамках текущего HTTP-запроса.
+ * Счётчик привязан к потоку и переносится в задачи пулов через {@link ThreadContext#propagate}.
+ */
+@Component
+public class StatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+    private static final ThreadLocal<AtomicInteger> CURRENT = ThreadContext.propagated();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger counter = CURRENT.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put("hibernate.session_factory.statement_inspector", this);
+    }
+
+    public static AtomicInteger current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(AtomicInteger counter) {
+        CURRENT.set(counter);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        String user = request.getHeader(USER_HEADER);
+        if (user == null) {
+            return true;
+        }
+        RateLimiter.Rule rule = rateLimiter.match(request.getMethod(), request.getRequestURI());
+        if (rule == null) {
+            return true;
+        }
+        long userId;
+        try {
+            userId = Long.parseLong(user);
+        } catch (NumberFormatException e) {
+            return true;
+        }
+        long wait = rateLimiter.acquire(rule, userId);
+        if (wait > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+            throw new TooManyRequestsException("Слишком много запросов, повторите через " + retryAfter + " с",
+                    retryAfter);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long maximumBuckets = 100_000;
+    private Duration idleTtl = Duration.ofMinutes(10);
+    private Map<String, @Valid Group> groups = new LinkedHashMap<>();
+
+    @Data
+    public static class Group {
+        private List<String> paths = new ArrayList<>();
+        private List<String> methods = new ArrayList<>();
+        @Min(value = 1, message = "Ёмкость корзины должна быть не меньше 1")
+        private int capacity = 100;
+        @DecimalMin(value = "0", inclusive = false, message = "Скорость пополнения должна быть положительной")
+        private double refillPerSecond = 10;
+    }
+}
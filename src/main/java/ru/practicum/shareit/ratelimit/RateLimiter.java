@@ -0,0 +1,93 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ограничитель частоты запросов по пользователю и группе эндпоинтов.
+ * Корзины создаются при первом запросе и вытесняются по размеру и времени простоя.
+ */
+@Component
+public class RateLimiter {
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final List<Rule> rules = new ArrayList<>();
+    private final Cache<String, TokenBucket> buckets;
+    private final boolean enabled;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+        enabled = properties.isEnabled();
+        for (Map.Entry<String, RateLimitProperties.Group> group : properties.getGroups().entrySet()) {
+            rules.add(new Rule(group.getKey(), group.getValue(), Counter.builder("shareit.ratelimit.rejected")
+                    .tag("group", group.getKey())
+                    .register(registry)));
+        }
+        buckets = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumBuckets())
+                .expireAfterAccess(properties.getIdleTtl())
+                .recordStats()
+                .<String, TokenBucket>build(), "rate-limit.buckets");
+    }
+
+    public Rule match(String method, String path) {
+        if (!enabled) {
+            return null;
+        }
+        for (Rule rule : rules) {
+            if (rule.matches(matcher, method, path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Забирает токен из корзины пользователя.
+     *
+     * @return 0, если запрос можно выполнить, иначе через сколько наносекунд повторить
+     */
+    public long acquire(Rule rule, Long userId) {
+        long now = System.nanoTime();
+        RateLimitProperties.Group group = rule.group;
+        long wait = buckets.get(rule.name + ":" + userId,
+                key -> new TokenBucket(group.getCapacity(), group.getRefillPerSecond(), now)).tryAcquire(now);
+        if (wait > 0) {
+            rule.rejected.increment();
+        }
+        return wait;
+    }
+
+    @Getter
+    public static class Rule {
+        private final String name;
+        private final RateLimitProperties.Group group;
+        private final Counter rejected;
+
+        private Rule(String name, RateLimitProperties.Group group, Counter rejected) {
+            this.name = name;
+            this.group = group;
+            this.rejected = rejected;
+        }
+
+        private boolean matches(AntPathMatcher matcher, String method, String path) {
+            if (!group.getMethods().isEmpty() && !group.getMethods().contains(method)) {
+                return false;
+            }
+            for (String pattern : group.getPaths()) {
+                if (matcher.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
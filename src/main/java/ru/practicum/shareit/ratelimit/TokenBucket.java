@@ -0,0 +1,45 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket без блокировок в форме GCRA: всё состояние — теоретическое время прихода следующего запроса.
+ * Запрос проходит, если это время опережает текущее не больше чем на (capacity - 1) интервалов пополнения.
+ */
+public class TokenBucket {
+    private final long interval;
+    private final long tolerance;
+    private final AtomicLong arrival;
+
+    public TokenBucket(int capacity, double refillPerSecond, long now) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ёмкость корзины должна быть не меньше 1: " + capacity);
+        }
+        if (!(refillPerSecond > 0)) {
+            throw new IllegalArgumentException("Скорость пополнения должна быть положительной: " + refillPerSecond);
+        }
+        this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        this.tolerance = (capacity - 1) * interval;
+        this.arrival = new AtomicLong(now);
+    }
+
+    /**
+     * Забирает один токен.
+     *
+     * @return 0, если токен выдан, иначе через сколько наносекунд он появится
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = arrival.get();
+            long start = current - now > 0 ? current : now;
+            long wait = start - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, start + interval)) {
+                return 0;
+            }
+        }
+    }
+}
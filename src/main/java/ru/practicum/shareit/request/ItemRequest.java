@@ -1,5 +0,0 @@
-package ru.practicum.shareit.request;
-
-public class ItemRequest {
-
-}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.request.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.util.Create;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+public class ItemRequestController {
+    private final ItemRequestService itemRequestService;
+
+    @PostMapping
+    public ItemRequestDto create(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                 @Validated(Create.class) @RequestBody ItemRequestDto request) {
+        return itemRequestService.create(userId, request);
+    }
+
+    @GetMapping
+    public List<ItemRequestDto> getOwn(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                       @RequestParam(defaultValue = "0") Integer from,
+                                       @RequestParam(defaultValue = "20") Integer size) {
+        return itemRequestService.getOwn(userId, from, size);
+    }
+
+    @GetMapping("/all")
+    public List<ItemRequestDto> getAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                       @RequestParam(defaultValue = "0") Integer from,
+                                       @RequestParam(defaultValue = "20") Integer size) {
+        return itemRequestService.getAll(userId, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public ItemRequestDto getById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long requestId) {
+        return itemRequestService.getById(userId, requestId);
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.request.mapper;
+
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.List;
+
+@Component
+public class ItemRequestMapper {
+
+    public ItemRequestDto toItemRequestDto(ItemRequest request, List<ItemShortDto> items) {
+        return new ItemRequestDto(request.getId(), request.getDescription(), request.getCreated(), items);
+    }
+
+    public ItemRequest toItemRequest(ItemRequestDto request) {
+        return new ItemRequest(request.getId(), request.getDescription(), request.getCreated());
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.request.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.List;
+
+public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+
+    @Query("select r from ItemRequest r where r.requester.id = :requesterId order by r.created desc, r.id desc")
+    List<ItemRequest> findOwnPage(Long requesterId, Pageable page);
+
+    @Query("select r from ItemRequest r where r.requester.id <> :requesterId order by r.created desc, r.id desc")
+    List<ItemRequest> findOthersPage(Long requesterId, Pageable page);
+}
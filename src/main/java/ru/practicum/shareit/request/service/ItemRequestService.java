@@ -0,0 +1,15 @@
+package ru.practicum.shareit.request.service;
+
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.List;
+
+public interface ItemRequestService {
+    ItemRequestDto create(Long userId, ItemRequestDto request);
+
+    List<ItemRequestDto> getOwn(Long userId, Integer from, Integer size);
+
+    List<ItemRequestDto> getAll(Long userId, Integer from, Integer size);
+
+    ItemRequestDto getById(Long userId, Long requestId);
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.service.UserIdentityCache;
+import ru.practicum.shareit.util.OffsetPageRequest;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ItemRequestServiceImpl implements ItemRequestService {
+    private final ItemRequestRepository requestRepository;
+    private final ItemRepository itemRepository;
+    private final UserIdentityCache users;
+    private final ItemRequestMapper mapper;
+
+    @Transactional
+    @Override
+    public ItemRequestDto create(Long userId, ItemRequestDto request) {
+        ItemRequest thisRequest = mapper.toItemRequest(request);
+        thisRequest.setRequester(users.reference(userId));
+        thisRequest.setCreated(LocalDateTime.now());
+        return mapper.toItemRequestDto(requestRepository.save(thisRequest), Collections.emptyList());
+    }
+
+    @Override
+    public List<ItemRequestDto> getOwn(Long userId, Integer from, Integer size) {
+        users.require(userId);
+        return withItems(requestRepository.findOwnPage(userId, toPage(from, size)));
+    }
+
+    @Override
+    public List<ItemRequestDto> getAll(Long userId, Integer from, Integer size) {
+        users.require(userId);
+        return withItems(requestRepository.findOthersPage(userId, toPage(from, size)));
+    }
+
+    @Override
+    public ItemRequestDto getById(Long userId, Long requestId) {
+        users.require(userId);
+        ItemRequest request = requestRepository.findById(requestId).orElseThrow(
+                () -> new ObjectNotFoundException("Запрос не найден"));
+        return mapper.toItemRequestDto(request, itemRepository.findAllShortByRequestIdIn(List.of(requestId)));
+    }
+
+    private List<ItemRequestDto> withItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, List<ItemShortDto>> items = itemRepository.findAllShortByRequestIdIn(requests.stream()
+                        .map(ItemRequest::getId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(ItemShortDto::getRequestId));
+        return requests.stream()
+                .map(request -> mapper.toItemRequestDto(request,
+                        items.getOrDefault(request.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+
+    private Pageable toPage(Integer from, Integer size) {
+        return OffsetPageRequest.fromRequest(from, size, Sort.unsorted());
+    }
+}
@@ -3,9 +3,11 @@ package ru.practicum.shareit.user.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.util.Create;
+import ru.practicum.shareit.util.EntityVersion;
 import ru.practicum.shareit.util.Update;
 
 import java.util.List;
@@ -27,7 +29,11 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public UserDto getById(@PathVariable Long id) {
+    public UserDto getById(@PathVariable Long id, WebRequest request) {
+        EntityVersion version = userService.getVersion(id);
+        if (request.checkNotModified(version.getTag(), version.getLastModified())) {
+            return null;
+        }
         return userService.getById(id);
     }
 
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Data
@@ -20,6 +21,21 @@ public class User {
     private String name;
     @Column(unique = true)
     private String email;
+    @Version
+    private Long version;
+    private LocalDateTime updated;
+
+    public User(Long id, String name, String email) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updated = LocalDateTime.now();
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -1,7 +1,14 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.EntityVersion;
+
+import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    @Query("select new ru.practicum.shareit.util.EntityVersion(u.version, u.updated) from User u where u.id = :id")
+    Optional<EntityVersion> findVersionById(Long id);
 }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.cache.users")
+public class UserCacheProperties {
+    private long maximumSize = 100_000;
+    private Duration ttl = Duration.ofMinutes(10);
+}
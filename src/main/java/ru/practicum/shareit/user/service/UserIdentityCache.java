@@ -0,0 +1,57 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.datasource.PrimaryReads;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.TransactionHooks;
+
+/**
+ * Кэш существующих пользователей перед UserRepository.
+ * Позволяет проверить X-Sharer-User-Id и получить ссылку на пользователя без обращения к базе.
+ * Промахи читаются из основной базы.
+ */
+@Component
+public class UserIdentityCache {
+    private final UserRepository repository;
+    private final Cache<Long, Identity> identities;
+    private final PrimaryReads primaryReads;
+
+    public UserIdentityCache(UserRepository repository, UserCacheProperties properties, MeterRegistry registry,
+                             PrimaryReads primaryReads) {
+        this.repository = repository;
+        this.primaryReads = primaryReads;
+        this.identities = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .<Long, Identity>build(), "users.identity");
+    }
+
+    public Identity require(Long userId) {
+        return identities.get(userId, id -> primaryReads.load(() -> repository.findById(id))
+                .map(user -> new Identity(user.getId(), user.getName()))
+                .orElseThrow(() -> new ObjectNotFoundException("Пользователь не найден")));
+    }
+
+    public User reference(Long userId) {
+        require(userId);
+        return repository.getReferenceById(userId);
+    }
+
+    public void evict(Long userId) {
+        TransactionHooks.afterCommit(() -> identities.invalidate(userId));
+    }
+
+    @Value
+    public static class Identity {
+        Long id;
+        String name;
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user.service;
 
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.util.EntityVersion;
 
 import java.util.List;
 
@@ -11,6 +12,8 @@ public interface UserService {
 
     UserDto getById(Long id);
 
+    EntityVersion getVersion(Long id);
+
     void deleteById(Long id);
 
     List<UserDto> getUsers();
@@ -3,12 +3,22 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.comment.dto.CommentCountDto;
+import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemViewCache;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.EntityVersion;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,6 +28,13 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository repository;
     private final UserMapper mapper;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final BookingIntervalIndex intervalIndex;
+    private final UserIdentityCache identityCache;
+    private final ItemSearchIndex searchIndex;
+    private final ItemViewCache itemViewCache;
 
     @Transactional
     @Override
@@ -37,6 +54,7 @@ public class UserServiceImpl implements UserService {
                     if (user.getName() != null && !user.getName().isBlank()) {
                         thisUser.setName(user.getName());
                     }
+                    identityCache.evict(id);
                     return thisUser;
                 })
                 .map(mapper::toUserDto)
@@ -49,10 +67,34 @@ public class UserServiceImpl implements UserService {
         return mapper.toUserDto(user);
     }
 
+    @Override
+    public EntityVersion getVersion(Long id) {
+        return repository.findVersionById(id).orElseThrow(() -> new ObjectNotFoundException("Пользователь не найден"));
+    }
+
     @Transactional
     @Override
     public void deleteById(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(id);
+        List<Long> bookedItemIds = bookingRepository.findItemIdsByBookerId(id);
+        List<BookingForItemDto> bookings = bookingRepository.findAllActiveByBookerId(id,
+                BookingIntervalIndex.ACTIVE_STATUSES, now);
+        List<CommentCountDto> comments = commentRepository.countByAuthorIdPerItem(id).stream()
+                .filter(comment -> !itemIds.contains(comment.getItemId()))
+                .collect(Collectors.toList());
+        comments.forEach(comment -> itemRepository.decreaseCommentCount(comment.getItemId(),
+                Math.toIntExact(comment.getCount()), now));
         repository.deleteById(id);
+        comments.forEach(comment -> itemViewCache.evictPublicView(comment.getItemId()));
+        for (Long itemId : itemIds) {
+            intervalIndex.evict(itemId);
+            searchIndex.remove(itemId);
+            itemViewCache.evict(itemId);
+        }
+        bookedItemIds.forEach(itemViewCache::evictOwnerView);
+        bookings.forEach(booking -> intervalIndex.release(booking.getItemId(), booking.getId()));
+        identityCache.evict(id);
     }
 
     @Override
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Таймаут асинхронной обработки для отдельного запроса вместо общего spring.mvc.async.request-timeout.
+ * Обработчик кладёт таймаут в атрибут запроса, а перехватчик применяет его до старта асинхронной обработки,
+ * пока таймаут ещё можно поменять.
+ */
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+    private static final String ATTRIBUTE = AsyncTimeoutInterceptor.class.getName() + ".timeout";
+
+    public static void set(WebRequest request, Duration timeout) {
+        request.setAttribute(ATTRIBUTE, timeout, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Object timeout = request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (timeout instanceof Duration && request instanceof AsyncWebRequest) {
+            ((AsyncWebRequest) request).setTimeout(((Duration) timeout).toMillis());
+        }
+    }
+}
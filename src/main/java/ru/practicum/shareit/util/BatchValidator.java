@@ -0,0 +1,41 @@
+package ru.practicum.shareit.util;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ValidationException;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class BatchValidator {
+    public static final int MAX_BATCH_SIZE = 1000;
+    private final Validator validator;
+
+    public <T> Map<Integer, String> validate(List<T> elements, Class<?>... groups) {
+        if (elements == null || elements.isEmpty() || elements.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Размер пакета должен быть от 1 до " + MAX_BATCH_SIZE);
+        }
+        Map<Integer, String> errors = new TreeMap<>();
+        for (int i = 0; i < elements.size(); i++) {
+            T element = elements.get(i);
+            if (element == null) {
+                errors.put(i, "Элемент пакета не может быть пустым");
+                continue;
+            }
+            String violations = validator.validate(element, groups).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            if (!violations.isEmpty()) {
+                errors.put(i, violations);
+            }
+        }
+        return errors;
+    }
+}
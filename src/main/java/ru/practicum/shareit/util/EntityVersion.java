@@ -0,0 +1,28 @@
+package ru.practicum.shareit.util;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Версия ресурса для условных GET: значение ETag и время последнего изменения.
+ */
+@Value
+public class EntityVersion {
+    String tag;
+    LocalDateTime updated;
+
+    public EntityVersion(String tag, LocalDateTime updated) {
+        this.tag = tag;
+        this.updated = updated;
+    }
+
+    public EntityVersion(Long version, LocalDateTime updated) {
+        this(String.valueOf(version), updated);
+    }
+
+    public long getLastModified() {
+        return updated.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
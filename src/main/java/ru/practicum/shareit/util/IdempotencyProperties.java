@@ -0,0 +1,14 @@
+package ru.practicum.shareit.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.idempotency")
+public class IdempotencyProperties {
+    private long maximumSize = 100_000;
+    private Duration ttl = Duration.ofHours(24);
+    private Duration waitTimeout = Duration.ofSeconds(30);
+}
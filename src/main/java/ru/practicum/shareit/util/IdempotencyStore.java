@@ -0,0 +1,86 @@
+package ru.practicum.shareit.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ConflictException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Ответы на POST-запросы по заголовку Idempotency-Key.
+ * Повтор с тем же ключом получает сохранённый ответ без обращения к сервису, параллельный дубликат ждёт
+ * первый запрос. Ключи живут ограниченное время; после ошибки ключ освобождается и запрос можно повторить.
+ */
+@Component
+public class IdempotencyStore {
+    public static final String HEADER = "Idempotency-Key";
+    private final Cache<String, Entry> entries;
+    private final Duration waitTimeout;
+
+    public IdempotencyStore(IdempotencyProperties properties, MeterRegistry registry) {
+        entries = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .<String, Entry>build(), "idempotency");
+        waitTimeout = properties.getWaitTimeout();
+    }
+
+    public <T> T execute(String key, Long userId, String operation, Object request, Supplier<T> action)
+            throws TimeoutException {
+        if (key == null) {
+            return action.get();
+        }
+        String id = userId + ":" + operation + ":" + key;
+        Entry entry = new Entry(request);
+        Entry existing = entries.asMap().putIfAbsent(id, entry);
+        if (existing != null) {
+            return await(existing, request);
+        }
+        try {
+            T response = action.get();
+            entry.response.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            entries.asMap().remove(id, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T await(Entry existing, Object request) throws TimeoutException {
+        if (!Objects.equals(existing.request, request)) {
+            throw new ConflictException("Ключ идемпотентности уже использован для другого запроса");
+        }
+        try {
+            return (T) existing.response.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw (RuntimeException) e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+        private final Object request;
+        private final CompletableFuture<Object> response = new CompletableFuture<>();
+
+        private Entry(Object request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.util;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Страница, которая начинается с произвольного элемента from, а не с номера страницы.
+ * PageRequest.of(from / size, size) при from, не кратном size, вернул бы элементы с начала страницы.
+ */
+@EqualsAndHashCode
+@ToString
+public final class OffsetPageRequest implements Pageable {
+    public static final int MAX_SIZE = 100;
+    private final long offset;
+    private final int size;
+    private final Sort sort;
+
+    private OffsetPageRequest(long offset, int size, Sort sort) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Смещение не может быть отрицательным: " + offset);
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Размер страницы должен быть положительным: " + size);
+        }
+        this.offset = offset;
+        this.size = size;
+        this.sort = sort;
+    }
+
+    /**
+     * Страница по параметрам from и size из запроса; недопустимые значения дают ValidationException (400).
+     */
+    public static OffsetPageRequest fromRequest(Integer from, Integer size, Sort sort) {
+        if (from == null || from < 0 || size == null || size < 1 || size > MAX_SIZE) {
+            throw new ValidationException("Параметр from не может быть отрицательным, а size должен быть от 1 до "
+                    + MAX_SIZE);
+        }
+        return new OffsetPageRequest(from, size, sort);
+    }
+
+    /**
+     * Проверка size для запросов, которые листают не по смещению: ключом или окном поиска.
+     */
+    public static void checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new ValidationException("Размер страницы должен быть от 1 до " + MAX_SIZE);
+        }
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + size, size, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(0, offset - size), size, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, size, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * size, size, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.util;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Фиксированный набор блокировок, между которыми ключи распределяются по хешу.
+ * Один ключ всегда получает одну и ту же блокировку, разные ключи почти всегда — разные,
+ * а память не зависит от числа ключей. Число полос округляется вверх до степени двойки.
+ */
+public final class StripedLock {
+    private final Lock[] locks;
+    private final int mask;
+
+    public StripedLock(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Число полос должно быть положительным: " + stripes);
+        }
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        locks = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        mask = size - 1;
+    }
+
+    public Lock get(Object key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return locks[(hash ^ hash >>> 16) & mask];
+    }
+}
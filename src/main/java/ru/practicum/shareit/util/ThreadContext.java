@@ -0,0 +1,61 @@
+package ru.practicum.shareit.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Контекст запроса, привязанный к потоку: переменные, созданные через {@link #propagated()}, задачи пулов
+ * получают из потока, который их создал, через один вызов {@link #propagate}.
+ */
+public final class ThreadContext {
+    private static final List<ThreadLocal<Object>> PROPAGATED = new CopyOnWriteArrayList<>();
+
+    private ThreadContext() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ThreadLocal<T> propagated() {
+        ThreadLocal<Object> local = new ThreadLocal<>();
+        PROPAGATED.add(local);
+        return (ThreadLocal<T>) local;
+    }
+
+    /**
+     * Запоминает текущие значения всех переносимых переменных; задача выставляет их на время выполнения
+     * и затем возвращает потоку пула прежние.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Object[] values = new Object[PROPAGATED.size()];
+        boolean empty = true;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = PROPAGATED.get(i).get();
+            empty &= values[i] == null;
+        }
+        if (empty) {
+            return task;
+        }
+        return () -> {
+            Object[] previous = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                previous[i] = PROPAGATED.get(i).get();
+                set(PROPAGATED.get(i), values[i]);
+            }
+            try {
+                return task.get();
+            } finally {
+                for (int i = 0; i < values.length; i++) {
+                    set(PROPAGATED.get(i), previous[i]);
+                }
+            }
+        };
+    }
+
+    private static void set(ThreadLocal<Object> local, Object value) {
+        if (value == null) {
+            local.remove();
+        } else {
+            local.set(value);
+        }
+    }
+}
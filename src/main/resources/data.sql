@@ -1,8 +0,0 @@
-insert into status (name)
-values ('WAITING');
-insert into status (name)
-values ('APPROVED');
-insert into status (name)
-values ('REJECTED');
-insert into status (name)
-values ('CANCELED');
\ No newline at end of file
@@ -1,4 +1,6 @@
-drop table if exists users, requests, items, comments, bookings, status;
+create sequence if not exists items_seq start with 1 increment by 50;
+create sequence if not exists comments_seq start with 1 increment by 50;
+create sequence if not exists bookings_seq start with 1 increment by 50;
 
 create table if not exists users
 (
@@ -54,4 +56,13 @@ create table if not exists status
 (
     id bigint generated by default as identity primary key,
     name varchar unique
-);
\ No newline at end of file
+);
+
+insert into status (name)
+select 'WAITING' where not exists (select 1 from status where name = 'WAITING');
+insert into status (name)
+select 'APPROVED' where not exists (select 1 from status where name = 'APPROVED');
+insert into status (name)
+select 'REJECTED' where not exists (select 1 from status where name = 'REJECTED');
+insert into status (name)
+select 'CANCELED' where not exists (select 1 from status where name = 'CANCELED');
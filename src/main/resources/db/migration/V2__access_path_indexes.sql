@@ -0,0 +1,4 @@
+create index if not exists idx_bookings_booker_start on bookings (booker_id, start_date desc);
+create index if not exists idx_bookings_item_status_start on bookings (item_id, status, start_date);
+create index if not exists idx_items_owner on items (owner_id);
+create index if not exists idx_comments_item_created on comments (item_id, created);
@@ -0,0 +1,9 @@
+alter table bookings add column if not exists owner_id bigint references users(id) on delete cascade;
+
+update bookings
+set owner_id = (select i.owner_id from items i where i.id = bookings.item_id)
+where owner_id is null;
+
+alter table bookings alter column owner_id set not null;
+
+create index if not exists idx_bookings_owner_start on bookings (owner_id, start_date desc);
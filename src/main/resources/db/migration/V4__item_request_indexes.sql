@@ -0,0 +1,3 @@
+create index if not exists idx_requests_requester_created on requests (requester_id, created desc);
+create index if not exists idx_requests_created on requests (created desc);
+create index if not exists idx_items_request on items (request_id);
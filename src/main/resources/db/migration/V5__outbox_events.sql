@@ -0,0 +1,17 @@
+create sequence if not exists outbox_events_seq start with 1 increment by 50;
+
+create table if not exists outbox_events
+(
+    id bigint not null,
+    event_type varchar(32) not null,
+    booking_id bigint not null,
+    item_id bigint not null,
+    recipient_id bigint not null,
+    status varchar(32) not null,
+    created timestamp without time zone not null,
+    attempts int default 0 not null,
+    available_at timestamp without time zone not null,
+    constraint pk_outbox_event primary key (id)
+);
+
+create index if not exists idx_outbox_events_available on outbox_events (available_at, id);
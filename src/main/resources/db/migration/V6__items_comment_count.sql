@@ -0,0 +1,4 @@
+alter table items add column if not exists comment_count int default 0 not null;
+
+update items
+set comment_count = (select count(*) from comments c where c.item_id = items.id);
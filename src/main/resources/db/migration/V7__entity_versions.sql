@@ -0,0 +1,8 @@
+alter table users add column if not exists version bigint default 0 not null;
+alter table users add column if not exists updated timestamp without time zone default current_timestamp not null;
+
+alter table items add column if not exists version bigint default 0 not null;
+alter table items add column if not exists updated timestamp without time zone default current_timestamp not null;
+
+alter table bookings add column if not exists version bigint default 0 not null;
+alter table bookings add column if not exists updated timestamp without time zone default current_timestamp not null;
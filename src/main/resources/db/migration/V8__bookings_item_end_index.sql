@@ -0,0 +1 @@
+create index if not exists idx_bookings_item_status_end on bookings (item_id, status, end_date, start_date);
@@ -0,0 +1,114 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.State;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BatchCreateTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    private Long owner;
+    private Long booker;
+    private Long item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        owner = userService.create(new UserDto(null, "owner", "batch-owner" + suffix + "@mail.ru")).getId();
+        booker = userService.create(new UserDto(null, "booker", "batch-booker" + suffix + "@mail.ru")).getId();
+        item = itemService.create(owner, new ItemShortDto(null, "item", "description", true)).getId();
+        start = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    void reportsBookingErrorsByIndexAndSavesNothing() throws Exception {
+        post("/bookings/batch", booker, Arrays.asList(
+                        new BookingShortDto(null, start, start.plusHours(2), item),
+                        new BookingShortDto(null, start.plusDays(1), null, item),
+                        null,
+                        new BookingShortDto(null, start.plusDays(2), start.plusDays(3), Long.MAX_VALUE),
+                        new BookingShortDto(null, start.plusHours(1), start.plusHours(3), item),
+                        new BookingShortDto(null, start.plusDays(4), start.plusDays(5), item)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Ошибка валидации пакета бронирований"))
+                .andExpect(jsonPath("$.errors[*].index", contains(1, 2, 3, 4)))
+                .andExpect(jsonPath("$.errors[0].error", containsString("окончания")))
+                .andExpect(jsonPath("$.errors[1].error").value("Элемент пакета не может быть пустым"))
+                .andExpect(jsonPath("$.errors[2].error").value("Товара не существует"))
+                .andExpect(jsonPath("$.errors[3].error").value("Товар уже забронирован на выбранное время"));
+
+        assertEquals(List.of(), bookingService.getBookingsByUser(booker, State.ALL, BookingCursor.FIRST, null)
+                .getBookings());
+        assertNotNull(bookingService.create(booker, new BookingShortDto(null, start, start.plusHours(2), item)),
+                "резерв отклонённого пакета должен освободиться");
+    }
+
+    @Test
+    void createsWholeValidBookingBatch() throws Exception {
+        post("/bookings/batch", booker, List.of(
+                        new BookingShortDto(null, start, start.plusHours(1), item),
+                        new BookingShortDto(null, start.plusHours(1), start.plusHours(2), item)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void reportsItemErrorsByIndexAndSavesNothing() throws Exception {
+        post("/items/batch", owner, List.of(
+                        new ItemShortDto(null, "drill", "description", true),
+                        new ItemShortDto(null, " ", "description", true),
+                        new ItemShortDto(null, "saw", "description", true, Long.MAX_VALUE)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Ошибка валидации пакета товаров"))
+                .andExpect(jsonPath("$.errors[*].index", contains(1, 2)))
+                .andExpect(jsonPath("$.errors[1].error").value("Запрос не найден"));
+
+        assertEquals(1, itemService.getByUserId(owner).size());
+    }
+
+    private ResultActions post(String path, Long userId, List<?> body) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.post(path)
+                .header("X-Sharer-User-Id", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .characterEncoding("UTF-8")
+                .content(objectMapper.writeValueAsString(body)));
+    }
+}
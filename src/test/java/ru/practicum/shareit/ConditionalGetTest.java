@@ -0,0 +1,122 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+    private Long owner;
+    private Long booker;
+    private Long item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long suffix = System.nanoTime();
+        owner = userService.create(new UserDto(null, "owner", "etag-owner" + suffix + "@mail.ru")).getId();
+        booker = userService.create(new UserDto(null, "booker", "etag-booker" + suffix + "@mail.ru")).getId();
+        item = itemService.create(owner, new ItemShortDto(null, "item", "description", true)).getId();
+    }
+
+    @Test
+    void userIsNotModifiedUntilUpdated() throws Exception {
+        String etag = eTag(get("/users/{id}", booker));
+
+        assertNotModifiedWithOneStatement(get("/users/{id}", booker).header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        userService.update(booker, new UserDto(null, "renamed", null));
+        assertThat(eTag(get("/users/{id}", booker).header(HttpHeaders.IF_NONE_MATCH, etag))).isNotEqualTo(etag);
+    }
+
+    @Test
+    void itemIsNotModifiedForOthersUntilUpdated() throws Exception {
+        String etag = eTag(get("/items/{id}", item).header("X-Sharer-User-Id", booker));
+
+        assertNotModifiedWithOneStatement(get("/items/{id}", item).header("X-Sharer-User-Id", booker)
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        MvcResult ownerView = mockMvc.perform(get("/items/{id}", item).header("X-Sharer-User-Id", owner)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+        mockMvc.perform(asyncDispatch(ownerView))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        itemService.update(owner, item, new ItemShortDto(null, null, "updated", null));
+        assertThat(eTag(get("/items/{id}", item).header("X-Sharer-User-Id", booker)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))).isNotEqualTo(etag);
+    }
+
+    @Test
+    void bookingIsNotModifiedOnlyForParticipantsUntilApproved() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Long booking = bookingService.create(booker, new BookingShortDto(null, start, start.plusHours(1), item))
+                .getId();
+        String etag = eTag(get("/bookings/{id}", booking).header("X-Sharer-User-Id", booker));
+
+        assertNotModifiedWithOneStatement(get("/bookings/{id}", booking).header("X-Sharer-User-Id", owner)
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        mockMvc.perform(get("/bookings/{id}", booking).header("X-Sharer-User-Id", item + 1_000_000)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotFound());
+
+        bookingService.updateStatus(booking, owner, true);
+        assertThat(eTag(get("/bookings/{id}", booking).header("X-Sharer-User-Id", booker)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))).isNotEqualTo(etag);
+    }
+
+    private String eTag(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+        return result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private void assertNotModifiedWithOneStatement(MockHttpServletRequestBuilder request) throws Exception {
+        statistics.clear();
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        assertThat(result.getResponse().getStatus()).isEqualTo(304);
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.util.IdempotencyStore;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.idempotency.wait-timeout=1s")
+@AutoConfigureMockMvc
+class IdempotencyKeyTest {
+    private static final String ITEM = "{\"name\":\"item\",\"description\":\"description\",\"available\":true}";
+    private static final String OTHER_ITEM = "{\"name\":\"other\",\"description\":\"description\",\"available\":true}";
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private ItemService itemService;
+    private final AtomicLong ids = new AtomicLong();
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        key = UUID.randomUUID().toString();
+        when(itemService.create(anyLong(), any())).thenAnswer(invocation -> created());
+    }
+
+    @Test
+    void replayReturnsStoredResponseWithoutCallingService() throws Exception {
+        long id = ids.get() + 1;
+        create(ITEM).andExpect(status().isOk()).andExpect(jsonPath("$.id").value(id));
+        create(ITEM).andExpect(status().isOk()).andExpect(jsonPath("$.id").value(id));
+
+        verify(itemService, times(1)).create(anyLong(), any());
+    }
+
+    @Test
+    void otherBodyUnderSameKeyIsConflict() throws Exception {
+        create(ITEM).andExpect(status().isOk());
+        create(OTHER_ITEM).andExpect(status().isConflict());
+
+        verify(itemService, times(1)).create(anyLong(), any());
+    }
+
+    @Test
+    void failedRequestReleasesKey() throws Exception {
+        when(itemService.create(anyLong(), any()))
+                .thenThrow(new ValidationException("Запрос не найден"))
+                .thenAnswer(invocation -> created());
+
+        create(ITEM).andExpect(status().isBadRequest());
+        create(ITEM).andExpect(status().isOk());
+
+        verify(itemService, times(2)).create(anyLong(), any());
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForFirstResponse() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(itemService.create(anyLong(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return created();
+        });
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> body(ITEM));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() -> body(ITEM));
+        Thread.sleep(200);
+        release.countDown();
+
+        assertEquals(first.get(5, TimeUnit.SECONDS), duplicate.get(5, TimeUnit.SECONDS));
+        verify(itemService, times(1)).create(anyLong(), any());
+    }
+
+    @Test
+    void duplicateGivesUpAfterWaitTimeout() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(itemService.create(anyLong(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return created();
+        });
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> body(ITEM));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        try {
+            create(ITEM).andExpect(status().isServiceUnavailable());
+        } finally {
+            release.countDown();
+        }
+        first.get(5, TimeUnit.SECONDS);
+        verify(itemService, times(1)).create(anyLong(), any());
+    }
+
+    private ItemDto created() {
+        return new ItemDto(ids.incrementAndGet(), "item", "description", true, null, null, null, null);
+    }
+
+    private ResultActions create(String body) throws Exception {
+        return mockMvc.perform(post("/items")
+                .header("X-Sharer-User-Id", 1)
+                .header(IdempotencyStore.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    private String body(String item) {
+        try {
+            return create(item).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.StatementCounter;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+
+/**
+ * Проверяет по EXPLAIN в H2, что запросы репозиториев обходятся без полного сканирования таблиц.
+ * H2 сам индексирует внешние ключи и при равной стоимости выбирает такой индекс вместо составного,
+ * поэтому план проверяется по ведущей колонке индекса, а состав индексов из миграций — отдельно.
+ */
+@SpringBootTest
+@Transactional
+class QueryPlanTest {
+    private static final Pattern PLAN_INDEX = Pattern.compile("/\\* PUBLIC\\.(\\w+)(?:: | \\*/)");
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final LocalDateTime CURSOR_START = BookingCursor.FIRST.getStart();
+    private static final Long CURSOR_ID = BookingCursor.FIRST.getId();
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+    @SpyBean
+    private StatementCounter statementCounter;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearInvocations(statementCounter);
+    }
+
+    @Test
+    void migrationsCreateAccessPathIndexes() {
+        assertThat(indexColumns("IDX_BOOKINGS_BOOKER_START")).isEqualTo("BOOKER_ID,START_DATE DESC");
+        assertThat(indexColumns("IDX_BOOKINGS_ITEM_STATUS_START")).isEqualTo("ITEM_ID,STATUS,START_DATE");
+        assertThat(indexColumns("IDX_BOOKINGS_ITEM_STATUS_END")).isEqualTo("ITEM_ID,STATUS,END_DATE,START_DATE");
+        assertThat(indexColumns("IDX_BOOKINGS_OWNER_START")).isEqualTo("OWNER_ID,START_DATE DESC");
+        assertThat(indexColumns("IDX_ITEMS_OWNER")).isEqualTo("OWNER_ID");
+        assertThat(indexColumns("IDX_COMMENTS_ITEM_CREATED")).isEqualTo("ITEM_ID,CREATED");
+    }
+
+    @Test
+    void bookerQueriesUseBookerIndex() {
+        bookingRepository.findBookerPage(1L, CURSOR_START, CURSOR_ID, PAGE);
+        assertIndexed("BOOKINGS.BOOKER_ID");
+        bookingRepository.findBookerCurrentPage(1L, NOW, CURSOR_START, CURSOR_ID, PAGE);
+        assertIndexed("BOOKINGS.BOOKER_ID");
+        bookingRepository.findBookerPastPage(1L, NOW, CURSOR_START, CURSOR_ID, PAGE);
+        assertIndexed("BOOKINGS.BOOKER_ID");
+        bookingRepository.findBookerFuturePage(1L, NOW, CURSOR_START, CURSOR_ID, PAGE);
+        assertIndexed("BOOKINGS.BOOKER_ID");
+        bookingRepository.findBookerPageByStatus(1L, Status.WAITING, CURSOR_START, CURSOR_ID, PAGE);
+        assertIndexed("BOOKINGS.BOOKER_ID");
+        close(bookingRepository.streamByBooker(1L));
+        assertIndexed("BOOKINGS.BOOKER_ID");
+        bookingRepository.findAllActiveByBookerId(1L, BookingIntervalIndex.ACTIVE_STATUSES, NOW);
+        assertIndexed("BOOKINGS.BOOKER_ID");
+        bookingRepository.findItemIdsByBookerId(1L);
+        assertIndexed("BOOKINGS.BOOKER_ID");
+    }
+
+    @Test
+    void ownerQueriesUseOwnerIndex() {
+        bookingRepository.findOwnerPage(1L, CURSOR_START, CURSOR_ID, PAGE);
+        assertIndexed("BOOKINGS.OWNER_ID");
+        bookingRepository.findOwnerCurrentPage(1L, NOW, CURSOR_START, CURSOR_ID, PAGE);
+        assertIndexed("BOOKINGS.OWNER_ID");
+        bookingRepository.findOwnerPastPage(1L, NOW, CURSOR_START, CURSOR_ID, PAGE);
+        assertIndexed("BOOKINGS.OWNER_ID");
+        bookingRepository.findOwnerFuturePage(1L, NOW, CURSOR_START, CURSOR_ID, PAGE);
+        assertIndexed("BOOKINGS.OWNER_ID");
+        bookingRepository.findOwnerPageByStatus(1L, Status.WAITING, CURSOR_START, CURSOR_ID, PAGE);
+        assertIndexed("BOOKINGS.OWNER_ID");
+        close(bookingRepository.streamByOwner(1L));
+        assertIndexed("BOOKINGS.OWNER_ID");
+    }
+
+    @Test
+    void itemBookingQueriesUseItemIndex() {
+        bookingRepository.findLastAndNextByItemIdIn(List.of(1L, 2L), NOW, Status.APPROVED.name());
+        assertIndexed("BOOKINGS.ITEM_ID");
+        bookingRepository.findAllActiveByItemId(1L, BookingIntervalIndex.ACTIVE_STATUSES, NOW);
+        assertIndexed("BOOKINGS.ITEM_ID");
+        bookingRepository.findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(1L, 1L, Status.APPROVED, NOW);
+        assertIndexed("BOOKINGS.ITEM_ID");
+        bookingRepository.findOccupiedSlots(1L, BookingIntervalIndex.ACTIVE_STATUSES, NOW, NOW.plusDays(30));
+        assertUsesIndex("IDX_BOOKINGS_ITEM_STATUS_END");
+        itemRepository.findIdsFreeBetween(List.of(1L, 2L), Status.APPROVED, NOW, NOW.plusDays(7));
+        assertUsesIndex("IDX_BOOKINGS_ITEM_STATUS_END");
+    }
+
+    @Test
+    void itemAndCommentQueriesUseTheirIndexes() {
+        itemRepository.findItemByOwnerId(1L);
+        assertIndexed("ITEMS.OWNER_ID");
+        itemRepository.findIdsByOwnerId(1L);
+        assertIndexed("ITEMS.OWNER_ID");
+        commentRepository.findPageByItemId(1L, PageRequest.of(0, 10, Sort.by(DESC, "created")));
+        assertIndexed("COMMENTS.ITEM_ID");
+        commentRepository.findPreviewIds(List.of(1L, 2L), 10);
+        assertIndexed("COMMENTS.ITEM_ID");
+    }
+
+    private void assertIndexed(String... leadingColumns) {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(statementCounter, atLeastOnce()).inspect(sql.capture());
+        for (String statement : sql.getAllValues()) {
+            String plan = explain(statement);
+            assertThat(plan).as(plan).doesNotContain("tableScan");
+            assertThat(usedLeadingColumns(plan)).as(plan).contains(leadingColumns);
+        }
+        clearInvocations(statementCounter);
+    }
+
+    /**
+     * Для запросов, где важна не только ведущая колонка, а граница диапазона по следующим колонкам индекса.
+     */
+    private void assertUsesIndex(String index) {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(statementCounter, atLeastOnce()).inspect(sql.capture());
+        for (String statement : sql.getAllValues()) {
+            String plan = explain(statement);
+            assertThat(plan).as(plan).doesNotContain("tableScan").contains("PUBLIC." + index);
+        }
+        clearInvocations(statementCounter);
+    }
+
+    private Set<String> usedLeadingColumns(String plan) {
+        Matcher matcher = PLAN_INDEX.matcher(plan);
+        Set<String> columns = new HashSet<>();
+        while (matcher.find()) {
+            columns.addAll(jdbcTemplate.queryForList("select table_name || '.' || column_name " +
+                    "from information_schema.index_columns where index_name = ? and ordinal_position = 1",
+                    String.class, matcher.group(1)));
+        }
+        return columns;
+    }
+
+    private String indexColumns(String index) {
+        return jdbcTemplate.queryForList("select column_name || case when ordering_specification = 'DESC' " +
+                        "then ' DESC' else '' end from information_schema.index_columns " +
+                        "where index_name = ? order by ordinal_position", String.class, index).stream()
+                .collect(Collectors.joining(","));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query("explain " + sql, preparedStatement -> {
+            int parameters = preparedStatement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                preparedStatement.setObject(i, null);
+            }
+        }, resultSet -> {
+            resultSet.next();
+            return resultSet.getString(1);
+        });
+    }
+
+    private static void close(Stream<?> stream) {
+        stream.close();
+    }
+}
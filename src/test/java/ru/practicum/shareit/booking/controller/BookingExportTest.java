@@ -0,0 +1,121 @@
+package ru.practicum.shareit.booking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingExportTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private BookingExportProperties exportProperties;
+    private Long owner;
+    private Long booker;
+    private Long item;
+    private final List<Long> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        owner = userService.create(new UserDto(null, "owner", "export-owner" + suffix + "@mail.ru")).getId();
+        booker = userService.create(new UserDto(null, "booker", "export-booker" + suffix + "@mail.ru")).getId();
+        item = itemService.create(owner, new ItemShortDto(null, "item", "description", true)).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 3; i++) {
+            LocalDateTime bookingStart = start.plusDays(i);
+            bookings.add(0, bookingService.create(booker,
+                    new BookingShortDto(null, bookingStart, bookingStart.plusHours(1), item)).getId());
+        }
+        bookingService.updateStatus(bookings.get(0), owner, false);
+    }
+
+    @Test
+    void streamsOneJsonLinePerBookingNewestFirst() throws Exception {
+        assertThat(export("/bookings/export", booker, "ALL")).isEqualTo(bookings);
+        assertThat(export("/bookings/owner/export", owner, "ALL")).isEqualTo(bookings);
+    }
+
+    @Test
+    void filtersByState() throws Exception {
+        assertThat(export("/bookings/export", booker, "REJECTED")).containsExactly(bookings.get(0));
+        assertThat(export("/bookings/owner/export", owner, "WAITING")).containsExactly(bookings.get(1),
+                bookings.get(2));
+        assertThat(export("/bookings/export", booker, "PAST")).isEmpty();
+    }
+
+    @Test
+    void rejectsUnknownUserBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/bookings/export").header("X-Sharer-User-Id", Long.MAX_VALUE))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void appliesExportTimeoutOnlyToExport() throws Exception {
+        MvcResult export = mockMvc.perform(get("/bookings/export").header("X-Sharer-User-Id", booker))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(export.getRequest().getAsyncContext().getTimeout())
+                .isEqualTo(exportProperties.getTimeout().toMillis());
+        mockMvc.perform(asyncDispatch(export)).andExpect(status().isOk());
+
+        MvcResult view = mockMvc.perform(get("/items/{id}", item).header("X-Sharer-User-Id", booker))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(view.getRequest().getAsyncContext().getTimeout())
+                .isNotEqualTo(exportProperties.getTimeout().toMillis());
+        mockMvc.perform(asyncDispatch(view)).andExpect(status().isOk());
+    }
+
+    private List<Long> export(String path, Long userId, String state) throws Exception {
+        MvcResult started = mockMvc.perform(get(path).header("X-Sharer-User-Id", userId).param("state", state))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+        String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<Long> ids = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isEmpty()) {
+                ids.add(objectMapper.readTree(line).get("id").asLong());
+            }
+        }
+        return ids;
+    }
+}
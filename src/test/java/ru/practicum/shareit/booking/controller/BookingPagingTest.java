@@ -0,0 +1,125 @@
+package ru.practicum.shareit.booking.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingPagingTest {
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    private Long booker;
+    private final List<Long> expected = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        Long owner = userService.create(new UserDto(null, "owner", "page-owner" + suffix + "@mail.ru")).getId();
+        booker = userService.create(new UserDto(null, "booker", "page-booker" + suffix + "@mail.ru")).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Long> tied = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Long item = itemService.create(owner, new ItemShortDto(null, "item" + i, "description", true)).getId();
+            tied.add(book(item, start.plusDays(1)));
+            if (i == 0) {
+                expected.add(0, book(item, start));
+                expected.add(0, book(item, start.plusDays(2)));
+            }
+        }
+        tied.sort((a, b) -> Long.compare(b, a));
+        expected.addAll(1, tied);
+    }
+
+    @Test
+    void returnsAllBookingsWithoutSize() throws Exception {
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", booker))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(NEXT_CURSOR));
+        assertThat(ids(page(null, null))).isEqualTo(expected);
+    }
+
+    @Test
+    void walksPagesInOrderBreakingTiesById() throws Exception {
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MvcResult result = page(cursor, 2);
+            walked.addAll(ids(result));
+            cursor = result.getResponse().getHeader(NEXT_CURSOR);
+            pages++;
+        } while (cursor != null);
+        assertThat(walked).isEqualTo(expected);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void omitsCursorWhenLastPageIsExactlyFull() throws Exception {
+        MvcResult first = page(null, 3);
+        assertThat(first.getResponse().getHeader(NEXT_CURSOR)).isNotNull();
+        MvcResult last = page(first.getResponse().getHeader(NEXT_CURSOR), 2);
+        assertThat(ids(last)).isEqualTo(expected.subList(3, 5));
+        assertThat(last.getResponse().getHeader(NEXT_CURSOR)).isNull();
+    }
+
+    @Test
+    void rejectsTamperedCursor() throws Exception {
+        String garbage = Base64.getUrlEncoder().encodeToString("not-a-date_x".getBytes(StandardCharsets.UTF_8));
+        for (String cursor : List.of("%%%", garbage)) {
+            mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", booker).param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    private MvcResult page(String cursor, Integer size) throws Exception {
+        var request = get("/bookings").header("X-Sharer-User-Id", booker);
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        if (size != null) {
+            request.param("size", size.toString());
+        }
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+    }
+
+    private static List<Long> ids(MvcResult result) throws Exception {
+        List<Number> ids = JsonPath.read(result.getResponse().getContentAsString(), "$[*].id");
+        List<Long> longs = new ArrayList<>();
+        ids.forEach(id -> longs.add(id.longValue()));
+        return longs;
+    }
+
+    private Long book(Long item, LocalDateTime start) {
+        return bookingService.create(booker, new BookingShortDto(null, start, start.plusHours(1), item)).getId();
+    }
+}
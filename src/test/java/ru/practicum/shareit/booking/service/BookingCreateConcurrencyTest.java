@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.exception.AccessException;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingCreateConcurrencyTest {
+    private static final int THREADS = 16;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void sameItemIsBookedOnceAndDifferentItemsAreAllBooked() throws Exception {
+        Long owner = userService.create(new UserDto(null, "owner", "create-owner@mail.ru")).getId();
+        Long booker = userService.create(new UserDto(null, "booker", "create-booker@mail.ru")).getId();
+        List<Long> items = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            items.add(itemService.create(owner, new ItemShortDto(null, "item" + i, "description", true)).getId());
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        assertEquals(1, race(i -> new BookingShortDto(null, start.plusMinutes(i), start.plusHours(1),
+                items.get(0)), booker));
+        assertEquals(THREADS, race(i -> new BookingShortDto(null, start.plusDays(1), start.plusDays(2),
+                items.get(i)), booker));
+    }
+
+    private int race(IntFunction<BookingShortDto> booking, Long booker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch ready = new CountDownLatch(THREADS);
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<BookingDto>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                BookingShortDto request = booking.apply(i);
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    return bookingService.create(booker, request);
+                }));
+            }
+            ready.await();
+            go.countDown();
+            int created = 0;
+            for (Future<BookingDto> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    created++;
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof AccessException, e.getCause().toString());
+                }
+            }
+            return created;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.exception.AccessException;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingIntervalIndexTest {
+    private static final AtomicInteger USERS = new AtomicInteger();
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    private Long owner;
+    private Long booker;
+    private Long item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = user();
+        booker = user();
+        item = itemService.create(owner, new ItemShortDto(null, "item", "description", true)).getId();
+        start = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    void rejectsOverlapAndAcceptsAdjacentInterval() {
+        book(start, start.plusHours(2));
+        assertThrows(AccessException.class, () -> book(start.plusHours(1), start.plusHours(3)));
+        assertThrows(AccessException.class, () -> book(start.minusHours(1), start.plusHours(5)));
+        assertNotNull(book(start.plusHours(2), start.plusHours(3)));
+    }
+
+    @Test
+    void releasesReservationOnRollback() {
+        transactionTemplate.executeWithoutResult(status -> {
+            book(start, start.plusHours(1));
+            status.setRollbackOnly();
+        });
+        assertNotNull(book(start, start.plusHours(1)));
+    }
+
+    @Test
+    void releasesReservationOnReject() {
+        BookingDto booking = book(start, start.plusHours(1));
+        bookingService.updateStatus(booking.getId(), owner, false);
+        assertNotNull(book(start, start.plusHours(1)));
+    }
+
+    @Test
+    void releasesReservationsOfDeletedBooker() {
+        book(start, start.plusHours(1));
+        userService.deleteById(booker);
+        booker = user();
+        assertNotNull(book(start, start.plusHours(1)));
+    }
+
+    @Test
+    void keepsUncommittedReservationWhenAnotherUserIsDeleted() throws Exception {
+        Long unrelated = user();
+        itemService.create(unrelated, new ItemShortDto(null, "other", "description", true));
+        CountDownLatch reserved = new CountDownLatch(1);
+        CountDownLatch checked = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> pending = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                book(start, start.plusHours(1));
+                reserved.countDown();
+                await(checked);
+            }));
+            assertTrue(reserved.await(30, TimeUnit.SECONDS));
+            userService.deleteById(unrelated);
+            assertThrows(AccessException.class, () -> book(start, start.plusHours(1)));
+            checked.countDown();
+            pending.get(30, TimeUnit.SECONDS);
+        } finally {
+            checked.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private BookingDto book(LocalDateTime from, LocalDateTime to) {
+        return bookingService.create(booker, new BookingShortDto(null, from, to, item));
+    }
+
+    private Long user() {
+        int n = USERS.incrementAndGet();
+        return userService.create(new UserDto(null, "user" + n, "interval" + n + "@mail.ru")).getId();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
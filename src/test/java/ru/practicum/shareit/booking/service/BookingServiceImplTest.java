@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingPage;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.State;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+class BookingServiceImplTest {
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager entityManager;
+    private static final State[] STATES = {State.ALL, State.CURRENT, State.PAST, State.FUTURE, State.WAITING,
+            State.REJECTED};
+    private Statistics statistics;
+    private int users;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getBookingsByOwnerRunsFixedNumberOfStatements() {
+        for (State state : STATES) {
+            assertEquals(countStatements(2, (owner, booker) -> bookingService.getBookingsByOwner(owner.getId(),
+                            state, BookingCursor.FIRST, 100)),
+                    countStatements(10, (owner, booker) -> bookingService.getBookingsByOwner(owner.getId(),
+                            state, BookingCursor.FIRST, 100)), state.name());
+        }
+    }
+
+    @Test
+    void getBookingsByUserRunsFixedNumberOfStatements() {
+        for (State state : STATES) {
+            assertEquals(countStatements(2, (owner, booker) -> bookingService.getBookingsByUser(booker.getId(),
+                            state, BookingCursor.FIRST, 100)),
+                    countStatements(10, (owner, booker) -> bookingService.getBookingsByUser(booker.getId(),
+                            state, BookingCursor.FIRST, 100)), state.name());
+        }
+    }
+
+    /**
+     * Создаёт по {@code perCase} бронирований на каждое сочетание прошлого, текущего и будущего
+     * со статусами WAITING и REJECTED, так что любое состояние возвращает несколько строк.
+     */
+    private long countStatements(int perCase, BiFunction<User, User, BookingPage> query) {
+        User owner = userRepository.save(new User(null, "owner", "owner" + users++ + "@mail.ru"));
+        User booker = userRepository.save(new User(null, "booker", "booker" + users++ + "@mail.ru"));
+        LocalDateTime now = LocalDateTime.now();
+        int created = 0;
+        for (int i = 0; i < perCase; i++) {
+            for (LocalDateTime start : List.of(now.minusDays(i + 3), now.minusHours(i + 1), now.plusDays(i + 1))) {
+                for (Status status : List.of(Status.WAITING, Status.REJECTED)) {
+                    Item item = new Item(null, "item" + created++, "description", true);
+                    item.setOwner(owner);
+                    itemRepository.save(item);
+                    bookingRepository.save(new Booking(null, start, start.plusDays(2), item, booker, status,
+                            owner.getId()));
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        int rows = query.apply(owner, booker).getBookings().size();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(rows >= perCase * 2, "строк: " + rows);
+        return statements;
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.exception.AccessException;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingStatusConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 20;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void exactlyOneConcurrentStatusUpdateWins() throws Exception {
+        Long owner = userService.create(new UserDto(null, "owner", "cas-owner@mail.ru")).getId();
+        Long booker = userService.create(new UserDto(null, "booker", "cas-booker@mail.ru")).getId();
+        Long item = itemService.create(owner, new ItemShortDto(null, "item", "description", true)).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                LocalDateTime roundStart = start.plusDays(round);
+                Long booking = bookingService.create(booker,
+                        new BookingShortDto(null, roundStart, roundStart.plusHours(1), item)).getId();
+                CountDownLatch ready = new CountDownLatch(THREADS);
+                CountDownLatch go = new CountDownLatch(1);
+                List<Future<BookingDto>> results = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    boolean approved = i % 2 == 0;
+                    Callable<BookingDto> update = () -> {
+                        ready.countDown();
+                        go.await();
+                        return bookingService.updateStatus(booking, owner, approved);
+                    };
+                    results.add(executor.submit(update));
+                }
+                ready.await();
+                go.countDown();
+
+                List<BookingDto> winners = new ArrayList<>();
+                for (Future<BookingDto> result : results) {
+                    try {
+                        winners.add(result.get(30, TimeUnit.SECONDS));
+                    } catch (ExecutionException e) {
+                        assertTrue(e.getCause() instanceof ConflictException
+                                || e.getCause() instanceof AccessException, e.getCause().toString());
+                    }
+                }
+                assertEquals(1, winners.size());
+                Status stored = bookingRepository.findById(booking).orElseThrow().getStatus();
+                assertEquals(winners.get(0).getStatus(), stored);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.datasource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Переход базы, созданной прежним schema.sql и data.sql, на Flyway с теми же настройками, что в приложении.
+ */
+class LegacySchemaMigrationTest {
+    private static final String URL = "jdbc:h2:mem:shareit_legacy;DB_CLOSE_DELAY=-1";
+    private final DataSource dataSource = new DriverManagerDataSource(URL, "test", "test");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @Test
+    void migratesDatabaseCreatedByOldScript() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline.sql")).execute(dataSource);
+        jdbcTemplate.update("insert into users (user_name, email) values ('owner', 'legacy@mail.ru')");
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("insert into items (name, description, available, owner_id) " +
+                    "values ('item', 'description', true, 1)");
+        }
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                "values (now(), now(), 3, 1, 'WAITING')");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .javaMigrations(new IdSequencesMigration())
+                .load()
+                .migrate();
+
+        assertEquals(4, count("select count(*) from status"));
+        assertEquals(2, count("select count(*) from \"flyway_schema_history\" " +
+                "where \"version\" in ('1', '1.1') and \"success\""));
+        assertFirstPooledIdAbove("items_seq", 3);
+        assertFirstPooledIdAbove("bookings_seq", 1);
+        assertEquals(1, count("select next value for comments_seq"));
+    }
+
+    /**
+     * Первый id, который Hibernate выделит из последовательности с allocationSize = 50, должен быть больше
+     * уже занятых.
+     */
+    private void assertFirstPooledIdAbove(String sequence, long maxId) {
+        long value = count("select next value for " + sequence);
+        assertTrue(value - 49 > maxId, sequence + ": " + value);
+    }
+
+    private long count(String sql) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class);
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.datasource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserIdentityCache;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "shareit.datasource.replica.url=" + RoutingDataSourceTest.REPLICA_URL,
+        "shareit.datasource.replica.username=test",
+        "shareit.datasource.replica.password=test",
+        "shareit.datasource.replica.stickiness=1m"
+})
+class RoutingDataSourceTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:shareit_replica;DB_CLOSE_DELAY=-1";
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private DataSource primaryDataSource;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserIdentityCache identityCache;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private final DataSource replica = new DriverManagerDataSource(REPLICA_URL, "test", "test");
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "test", "test").load().migrate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.unbind();
+    }
+
+    @Test
+    void writesGoToPrimaryAndReadsToReplica() {
+        UserDto user = userService.create(new UserDto(null, "primary", "routing-primary@mail.ru"));
+
+        assertEquals(1, count(primaryDataSource, user.getEmail()));
+        assertEquals(0, count(replica, user.getEmail()));
+        assertThrows(ObjectNotFoundException.class, () -> userService.getById(user.getId()));
+
+        Long replicaId = insert(replica, "routing-replica@mail.ru");
+        assertEquals("routing-replica@mail.ru", userService.getById(replicaId).getEmail());
+    }
+
+    @Test
+    void readsOfRecentWriterStickToPrimary() {
+        ReadYourWrites.bind(1_000L);
+        UserDto user = userService.create(new UserDto(null, "writer", "routing-writer@mail.ru"));
+
+        assertEquals(user.getEmail(), userService.getById(user.getId()).getEmail());
+
+        ReadYourWrites.bind(2_000L);
+        assertThrows(ObjectNotFoundException.class, () -> userService.getById(user.getId()));
+    }
+
+    @Test
+    void sharedCachesLoadFromPrimaryWhenReplicaLags() throws Exception {
+        ReadYourWrites.bind(3_000L);
+        UserDto owner = userService.create(new UserDto(null, "fresh", "routing-cache-owner@mail.ru"));
+        Long item = itemService.create(owner.getId(), new ItemShortDto(null, "fresh item", "description", true))
+                .getId();
+        new JdbcTemplate(replica).update("insert into users (id, user_name, email) values (?, ?, ?)",
+                owner.getId(), "stale", "routing-cache-stale@mail.ru");
+
+        ReadYourWrites.bind(4_000L);
+        identityCache.evict(owner.getId());
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        assertEquals("fresh", readOnly.execute(status -> {
+            assertEquals("stale", userService.getById(owner.getId()).getName());
+            return identityCache.require(owner.getId()).getName();
+        }));
+        assertEquals("fresh item", itemService.getById(4_000L, item).get().getName());
+    }
+
+    private static int count(DataSource dataSource, String email) {
+        Integer count = new JdbcTemplate(dataSource).queryForObject("select count(*) from users where email = ?",
+                Integer.class, email);
+        return count == null ? 0 : count;
+    }
+
+    private static Long insert(DataSource dataSource, String email) {
+        Long id = 1_000_000L;
+        new JdbcTemplate(dataSource).update("insert into users (id, user_name, email) values (?, ?, ?)", id, "replica", email);
+        return id;
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.event.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.EventType;
+import ru.practicum.shareit.event.dto.BookingEvent;
+import ru.practicum.shareit.event.model.OutboxEvent;
+import ru.practicum.shareit.event.repository.OutboxEventRepository;
+import ru.practicum.shareit.event.sink.InMemoryEventSink;
+import ru.practicum.shareit.exception.BatchValidationException;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = {"shareit.outbox.sink=memory", "shareit.outbox.memory-capacity=3"})
+class OutboxDispatcherTest {
+    @Autowired
+    private OutboxDispatcher dispatcher;
+    @SpyBean
+    private InMemoryEventSink sink;
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    private Long owner;
+    private Long booker;
+    private Long item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAllInBatch();
+        sink.drain();
+        long suffix = System.nanoTime();
+        owner = userService.create(new UserDto(null, "owner", "outbox-owner" + suffix + "@mail.ru")).getId();
+        booker = userService.create(new UserDto(null, "booker", "outbox-booker" + suffix + "@mail.ru")).getId();
+        item = itemService.create(owner, new ItemShortDto(null, "item", "description", true)).getId();
+        start = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    void deliversEventsInBatchesAndStopsWhenSinkIsFull() {
+        List<Long> bookings = List.of(book(0), book(1), book(2), book(3), book(4));
+
+        assertEquals(3, dispatcher.dispatch());
+        assertEquals(0, dispatcher.dispatch());
+        List<BookingEvent> first = sink.drain();
+        assertEquals(2, dispatcher.dispatch());
+        List<BookingEvent> second = sink.drain();
+
+        assertEquals(bookings.subList(0, 3), bookingIds(first));
+        assertEquals(bookings.subList(3, 5), bookingIds(second));
+        first.forEach(event -> {
+            assertEquals(EventType.BOOKING_CREATED, event.getType());
+            assertEquals(owner, event.getRecipientId());
+        });
+        assertEquals(0, outboxRepository.count());
+
+        bookingService.updateStatus(bookings.get(0), owner, true);
+        assertEquals(1, dispatcher.dispatch());
+        BookingEvent approved = sink.drain().get(0);
+        assertEquals(EventType.BOOKING_APPROVED, approved.getType());
+        assertEquals(booker, approved.getRecipientId());
+    }
+
+    @Test
+    void keepsAndPostponesEventsWhenSinkFails() {
+        book(0);
+        doThrow(new IllegalStateException("sink is down")).when(sink).publish(anyList());
+
+        assertEquals(0, dispatcher.dispatch());
+
+        OutboxEvent event = outboxRepository.findAll().get(0);
+        assertEquals(1, event.getAttempts());
+        assertTrue(event.getAvailableAt().isAfter(LocalDateTime.now()));
+        assertEquals(0, dispatcher.dispatch());
+    }
+
+    @Test
+    void rolledBackBookingsPublishNothing() {
+        assertThrows(BatchValidationException.class, () -> bookingService.createAll(booker, List.of(
+                new BookingShortDto(null, start, start.plusHours(1), item),
+                new BookingShortDto(null, start.plusDays(1), start.plusDays(1).plusHours(1), -1L))));
+
+        assertEquals(0, outboxRepository.count());
+    }
+
+    private Long book(int day) {
+        LocalDateTime bookingStart = start.plusDays(day);
+        return bookingService.create(booker, new BookingShortDto(null, bookingStart, bookingStart.plusHours(1), item))
+                .getId();
+    }
+
+    private static List<Long> bookingIds(List<BookingEvent> events) {
+        return events.stream().map(BookingEvent::getBookingId).collect(Collectors.toList());
+    }
+}
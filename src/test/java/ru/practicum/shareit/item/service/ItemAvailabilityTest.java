@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class ItemAvailabilityTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 10, 0, 0);
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "owner", "availability-owner@mail.ru"));
+        booker = userRepository.save(new User(null, "booker", "availability-booker@mail.ru"));
+        item = new Item(null, "item", "description", true);
+        item.setOwner(owner);
+        itemRepository.save(item);
+        book(DAY.minusDays(5), DAY.minusDays(4), Status.APPROVED);
+        book(DAY.minusHours(4), DAY.plusHours(9), Status.APPROVED);
+        book(DAY.plusHours(10), DAY.plusHours(12), Status.APPROVED);
+        book(DAY.plusHours(14), DAY.plusHours(16), Status.WAITING);
+        book(DAY.plusHours(17), DAY.plusHours(18), Status.REJECTED);
+        book(DAY.plusDays(3), DAY.plusDays(4), Status.APPROVED);
+    }
+
+    @Test
+    void returnsGapsBetweenActiveBookings() {
+        assertEquals(List.of(
+                        new TimeSlotDto(DAY.plusHours(9), DAY.plusHours(10)),
+                        new TimeSlotDto(DAY.plusHours(12), DAY.plusHours(14)),
+                        new TimeSlotDto(DAY.plusHours(16), DAY.plusHours(20))),
+                itemService.getAvailability(item.getId(), DAY.plusHours(8), DAY.plusHours(20)));
+    }
+
+    @Test
+    void returnsWholeWindowWhenFreeAndNothingWhenOccupied() {
+        assertEquals(List.of(new TimeSlotDto(DAY.plusDays(1), DAY.plusDays(2))),
+                itemService.getAvailability(item.getId(), DAY.plusDays(1), DAY.plusDays(2)));
+        assertEquals(List.of(), itemService.getAvailability(item.getId(), DAY.plusHours(1), DAY.plusHours(2)));
+    }
+
+    @Test
+    void keepsBookingEnclosingLaterOneThatStartsBeforeWindow() {
+        book(DAY.plusDays(5), DAY.plusDays(8), Status.APPROVED);
+        book(DAY.plusDays(6), DAY.plusDays(6).plusHours(2), Status.WAITING);
+
+        assertEquals(List.of(new TimeSlotDto(DAY.plusDays(8), DAY.plusDays(9))),
+                itemService.getAvailability(item.getId(), DAY.plusDays(7), DAY.plusDays(9)));
+    }
+
+    @Test
+    void rejectsEmptyWindow() {
+        assertThrows(ValidationException.class, () -> itemService.getAvailability(item.getId(), DAY, DAY));
+    }
+
+    private void book(LocalDateTime start, LocalDateTime end, Status status) {
+        bookingRepository.save(new Booking(null, start, end, item, booker, status, owner.getId()));
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.CommentShortDto;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "shareit.comments.preview-size=3")
+class ItemCommentsTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void itemViewsCarryCappedPreviewsAndCounts() {
+        Long owner = userService.create(new UserDto(null, "owner", "comments-owner@mail.ru")).getId();
+        Long author = userService.create(new UserDto(null, "author", "comments-author@mail.ru")).getId();
+        Long popular = itemService.create(owner, new ItemShortDto(null, "popular", "description", true)).getId();
+        Long quiet = itemService.create(owner, new ItemShortDto(null, "quiet", "description", true)).getId();
+        Long silent = itemService.create(owner, new ItemShortDto(null, "silent", "description", true)).getId();
+        bookInPast(popular, author);
+        bookInPast(quiet, author);
+        for (int i = 0; i < 5; i++) {
+            itemService.createComment(popular, author, new CommentShortDto(null, "popular " + i, null, null));
+        }
+        itemService.createComment(quiet, author, new CommentShortDto(null, "quiet", null, null));
+
+        Map<Long, ItemDto> items = itemService.getByUserId(owner).stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+
+        assertEquals(List.of("popular 4", "popular 3", "popular 2"), texts(items.get(popular).getComments()));
+        assertEquals(5, items.get(popular).getCommentCount());
+        assertEquals(List.of("quiet"), texts(items.get(quiet).getComments()));
+        assertEquals(1, items.get(quiet).getCommentCount());
+        assertEquals(List.of(), items.get(silent).getComments());
+        assertEquals(0, items.get(silent).getCommentCount());
+
+        ItemDto view = itemService.getById(author, popular).join();
+        assertEquals(List.of("popular 4", "popular 3", "popular 2"), texts(view.getComments()));
+        assertEquals(5, view.getCommentCount());
+
+        assertEquals(List.of("popular 1", "popular 0"), texts(itemService.getComments(popular, 3, 3)));
+        assertEquals(List.of("popular 3", "popular 2", "popular 1"),
+                texts(itemService.getComments(popular, 1, 3)));
+    }
+
+    private void bookInPast(Long itemId, Long bookerId) {
+        LocalDateTime start = LocalDateTime.now().minusDays(2);
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        bookingRepository.save(new Booking(null, start, start.plusDays(1), item,
+                userRepository.findById(bookerId).orElseThrow(), Status.APPROVED, item.getOwner().getId()));
+    }
+
+    private static List<String> texts(List<CommentDto> comments) {
+        return comments.stream().map(CommentDto::getText).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@Transactional
+class ItemOwnerBookingsTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    private User owner;
+    private User booker;
+
+    @Test
+    void eachItemGetsItsOwnLastAndNextBooking() {
+        owner = userRepository.save(new User(null, "owner", "last-next-owner@mail.ru"));
+        booker = userRepository.save(new User(null, "booker", "last-next-booker@mail.ru"));
+        LocalDateTime now = LocalDateTime.now();
+        Item drill = item("drill");
+        Item saw = item("saw");
+        Item ladder = item("ladder");
+        book(drill, now.minusDays(10), Status.APPROVED);
+        Long drillLast = book(drill, now.minusDays(5), Status.APPROVED);
+        Long drillNext = book(drill, now.plusDays(2), Status.APPROVED);
+        book(drill, now.plusDays(1), Status.WAITING);
+        book(drill, now.plusDays(6), Status.APPROVED);
+        Long sawLast = book(saw, now.minusDays(3), Status.APPROVED);
+        Long sawNext = book(saw, now.plusDays(4), Status.APPROVED);
+        book(saw, now.minusDays(1), Status.REJECTED);
+
+        Map<Long, ItemDto> items = itemService.getByUserId(owner.getId()).stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+
+        assertEquals(drillLast, items.get(drill.getId()).getLastBooking().getId());
+        assertEquals(drillNext, items.get(drill.getId()).getNextBooking().getId());
+        assertEquals(sawLast, items.get(saw.getId()).getLastBooking().getId());
+        assertEquals(sawNext, items.get(saw.getId()).getNextBooking().getId());
+        assertNull(items.get(ladder.getId()).getLastBooking());
+        assertNull(items.get(ladder.getId()).getNextBooking());
+    }
+
+    private Item item(String name) {
+        Item item = new Item(null, name, "description", true);
+        item.setOwner(owner);
+        return itemRepository.save(item);
+    }
+
+    private Long book(Item item, LocalDateTime start, Status status) {
+        return bookingRepository.save(new Booking(null, start, start.plusHours(1), item, booker, status,
+                owner.getId())).getId();
+    }
+}
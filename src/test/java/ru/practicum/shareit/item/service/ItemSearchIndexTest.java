@@ -0,0 +1,68 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ItemRepository repository = mock(ItemRepository.class);
+        when(repository.findAllShort()).thenReturn(List.of(
+                new ItemShortDto(1L, "Аккумуляторная дрель", "с двумя батареями", true),
+                new ItemShortDto(2L, "Отвертка", "подходит к дрели", true),
+                new ItemShortDto(3L, "Дрель", "ударная", true),
+                new ItemShortDto(4L, "Дрель старая", "сломана", false),
+                new ItemShortDto(5L, "Пила", "цепная", true),
+                new ItemShortDto(6L, "Дрелька", "детская", true),
+                new ItemShortDto(7L, "Набор", "дрель в комплекте", true)));
+        index = new ItemSearchIndex(repository);
+        index.build();
+    }
+
+    @Test
+    void matchesSubstringsCaseInsensitively() {
+        assertEquals(List.of(1L, 3L, 6L, 2L, 7L), ids("ДРЕЛ"));
+        assertEquals(List.of(5L), ids("цеп"));
+        assertEquals(List.of(5L), ids("ц"), "однобуквенный запрос ищется по униграммам");
+        assertEquals(List.of(), ids("дрельщик"));
+        assertEquals(List.of(), ids("лье"));
+    }
+
+    @Test
+    void ranksExactWordThenNameThenId() {
+        assertEquals(List.of(1L, 3L, 7L, 6L), ids("дрель"));
+    }
+
+    @Test
+    void skipsUnavailableItems() {
+        assertEquals(List.of(), ids("сломана"));
+    }
+
+    @Test
+    void reindexesUpdatedAndForgetsRemovedItems() {
+        index.index(new ItemShortDto(5L, "Пила", "дисковая, рядом с дрелью", true));
+        assertEquals(List.of(), ids("цепная"));
+        assertEquals(List.of(5L), ids("дисков"));
+
+        index.index(new ItemShortDto(4L, "Дрель старая", "починена", true));
+        assertEquals(List.of(4L), ids("починена"));
+
+        index.remove(3L);
+        assertEquals(List.of(1L, 4L, 6L, 2L, 5L, 7L), ids("дрел"));
+    }
+
+    private List<Long> ids(String text) {
+        return index.search(text).stream().map(ItemShortDto::getId).collect(Collectors.toList());
+    }
+}
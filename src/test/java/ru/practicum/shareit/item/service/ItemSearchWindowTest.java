@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class ItemSearchWindowTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 3, 1, 0, 0);
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemSearchIndex searchIndex;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager entityManager;
+    private User owner;
+    private User booker;
+    private Item ladder;
+    private Item longLadder;
+    private Item box;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "owner", "search-owner@mail.ru"));
+        booker = userRepository.save(new User(null, "booker", "search-booker@mail.ru"));
+        ladder = item("Стремянка", "алюминиевая");
+        longLadder = item("Лестница", "стремянка на пять метров");
+        box = item("Ящик", "для стремянки");
+        book(ladder, DAY.plusHours(10), DAY.plusHours(12), Status.APPROVED);
+        book(longLadder, DAY.plusHours(10), DAY.plusHours(12), Status.WAITING);
+        book(box, DAY.minusDays(1), DAY, Status.APPROVED);
+        searchIndex.build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestTransaction.end();
+        searchIndex.build();
+    }
+
+    @Test
+    void keepsRelevanceOrderWithoutWindow() {
+        assertEquals(List.of(ladder.getId(), longLadder.getId(), box.getId()), ids(null, null, 0, 20));
+        assertEquals(List.of(longLadder.getId()), ids(null, null, 1, 1));
+    }
+
+    @Test
+    void returnsEverythingWithoutSizeAndNothingPastTheEnd() {
+        assertEquals(List.of(longLadder.getId(), box.getId()), ids(null, null, 1, null));
+        assertEquals(List.of(box.getId()), ids(DAY.plusHours(11), DAY.plusHours(13), 1, null));
+        assertEquals(List.of(), ids(null, null, Integer.MAX_VALUE, 20));
+        assertEquals(List.of(), ids(DAY.plusHours(11), DAY.plusHours(13), Integer.MAX_VALUE, 20));
+    }
+
+    @Test
+    void excludesItemsWithOverlappingApprovedBooking() {
+        assertEquals(List.of(longLadder.getId(), box.getId()), ids(DAY.plusHours(11), DAY.plusHours(13), 0, 20));
+        assertEquals(List.of(box.getId()), ids(DAY.plusHours(11), DAY.plusHours(13), 1, 20));
+        assertEquals(List.of(ladder.getId(), longLadder.getId(), box.getId()),
+                ids(DAY.plusHours(12), DAY.plusHours(13), 0, 20));
+    }
+
+    @Test
+    void checksAllCandidatesWithOneQuery() {
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        assertEquals(List.of(box.getId()), ids(DAY.plusHours(11), DAY.plusHours(13), 1, 1));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void rejectsInvalidWindowAndPage() {
+        assertThrows(ValidationException.class, () -> ids(DAY, null, 0, 20));
+        assertThrows(ValidationException.class, () -> ids(DAY, DAY, 0, 20));
+        assertThrows(ValidationException.class, () -> ids(null, null, -1, 20));
+        assertThrows(ValidationException.class, () -> ids(null, null, 0, 101));
+    }
+
+    private List<Long> ids(LocalDateTime from, LocalDateTime to, int offset, Integer size) {
+        return itemService.search("стремянк", from, to, offset, size).stream()
+                .map(ItemShortDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Item item(String name, String description) {
+        Item item = new Item(null, name, description, true);
+        item.setOwner(owner);
+        return itemRepository.save(item);
+    }
+
+    private void book(Item item, LocalDateTime start, LocalDateTime end, Status status) {
+        bookingRepository.save(new Booking(null, start, end, item, booker, status, owner.getId()));
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class ItemViewCacheTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void ownerViewExpiresWhenNextBookingStarts() throws Exception {
+        Long owner = userService.create(new UserDto(null, "owner", "view-owner@mail.ru")).getId();
+        Long booker = userService.create(new UserDto(null, "booker", "view-booker@mail.ru")).getId();
+        Long item = itemService.create(owner, new ItemShortDto(null, "item", "description", true)).getId();
+        LocalDateTime start = LocalDateTime.now().plusSeconds(2);
+        Long booking = bookingService.create(booker, new BookingShortDto(null, start, start.plusDays(1), item))
+                .getId();
+        bookingService.updateStatus(booking, owner, true);
+
+        ItemDto before = itemService.getById(owner, item).get();
+        assertNull(before.getLastBooking());
+        assertEquals(booking, before.getNextBooking().getId());
+
+        Thread.sleep(Duration.between(LocalDateTime.now(), start).toMillis() + 200);
+
+        ItemDto after = itemService.getById(owner, item).get();
+        assertEquals(booking, after.getLastBooking().getId());
+        assertNull(after.getNextBooking());
+    }
+}
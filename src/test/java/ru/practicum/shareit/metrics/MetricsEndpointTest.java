@@ -0,0 +1,58 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class MetricsEndpointTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void prometheusEndpointExposesRequestRepositoryAndPoolMetrics() throws Exception {
+        Long owner = userService.create(new UserDto(null, "Владелец", "metrics-owner@shareit.ru")).getId();
+        Long item = itemService.create(owner, new ItemShortDto(null, "Дрель", "Аккумуляторная", true)).getId();
+
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", owner).param("state", "PAST"))
+                .andExpect(status().isOk());
+        MvcResult result = mockMvc.perform(get("/items/{itemId}", item).header("X-Sharer-User-Id", owner))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metrics)
+                .containsPattern("http_server_requests_seconds_count\\{[^}]*state=\"PAST\"[^}]*uri=\"/bookings/owner\"")
+                .containsPattern("http_server_requests_statements_sum\\{[^}]*uri=\"/bookings/owner\",} [1-9]")
+                .containsPattern("http_server_requests_statements_sum\\{[^}]*uri=\"/items/\\{itemId}\",} [1-9]")
+                .containsPattern("spring_data_repository_invocations_seconds_count\\{[^}]*method=\"findOwnerPastPage\""
+                        + "[^}]*repository=\"BookingRepository\"")
+                .containsPattern("spring_data_repository_invocations_seconds_count\\{[^}]*repository=\"ItemRepository\"")
+                .contains("hibernate_statements_total")
+                .contains("cache_gets_total{cache=\"items.public\"")
+                .contains("hikaricp_connections_active")
+                .contains("executor_pool_size_threads{name=\"items.view\"");
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StateTagsContributorTest {
+    private final StateTagsContributor contributor = new StateTagsContributor();
+
+    @Test
+    void tagsOnlyBookingListsAndExports() {
+        assertThat(state("GET", "/bookings", null)).isEqualTo("ALL");
+        assertThat(state("GET", "/bookings/owner", "PAST")).isEqualTo("PAST");
+        assertThat(state("GET", "/bookings/export", "FUTURE")).isEqualTo("FUTURE");
+        assertThat(state("GET", "/bookings/owner/export", null)).isEqualTo("ALL");
+        assertThat(state("GET", "/bookings", "SOMETHING")).isEqualTo("UNSUPPORTED_STATUS");
+    }
+
+    @Test
+    void otherRequestsGetNone() {
+        assertThat(state("GET", "/bookings/42", null)).isEqualTo("none");
+        assertThat(state("PATCH", "/bookings/42", null)).isEqualTo("none");
+        assertThat(state("POST", "/bookings", null)).isEqualTo("none");
+        assertThat(state("GET", "/items/search", null)).isEqualTo("none");
+    }
+
+    private String state(String method, String uri, String state) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (state != null) {
+            request.setParameter("state", state);
+        }
+        Iterable<Tag> tags = contributor.getTags(request, new MockHttpServletResponse(), null, null);
+        assertThat(contributor.getLongRequestTags(request, null)).isEqualTo(tags);
+        return tags.iterator().next().getValue();
+    }
+}
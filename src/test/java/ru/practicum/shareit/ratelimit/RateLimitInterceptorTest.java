@@ -0,0 +1,107 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RateLimitInterceptorTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void limitsEachUserSeparately() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter(2));
+
+        assertTrue(interceptor.preHandle(search(1L), new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(search(1L), new MockHttpServletResponse(), null));
+        assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(search(1L), new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(search(2L), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void skipsRequestsWithoutUserOrRule() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter(1));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(interceptor.preHandle(search(null), new MockHttpServletResponse(), null));
+            assertTrue(interceptor.preHandle(new MockHttpServletRequest("POST", "/items/search"),
+                    new MockHttpServletResponse(), null));
+        }
+        assertTrue(interceptor.preHandle(search(1L), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void roundsRetryAfterUpToWholeSeconds() {
+        assertEquals(1, retryAfter(1));
+        assertEquals(1, retryAfter(SECOND));
+        assertEquals(2, retryAfter(SECOND + 1));
+        assertEquals(3, retryAfter(5 * SECOND / 2));
+    }
+
+    @Test
+    void rejectsInvalidGroupSettings() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class,
+                        ValidationAutoConfiguration.class))
+                .withUserConfiguration(PropertiesConfig.class);
+
+        runner.withPropertyValues("shareit.rate-limit.groups.search.capacity=1",
+                        "shareit.rate-limit.groups.search.refill-per-second=0.5")
+                .run(context -> assertNotNull(context.getBean(RateLimitProperties.class)));
+        runner.withPropertyValues("shareit.rate-limit.groups.search.capacity=0")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+        runner.withPropertyValues("shareit.rate-limit.groups.search.refill-per-second=0")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+    }
+
+    private static long retryAfter(long wait) {
+        RateLimiter limiter = mock(RateLimiter.class);
+        when(limiter.match(any(), any())).thenReturn(mock(RateLimiter.Rule.class));
+        when(limiter.acquire(any(), anyLong())).thenReturn(wait);
+        return assertThrows(TooManyRequestsException.class, () -> new RateLimitInterceptor(limiter)
+                .preHandle(search(1L), new MockHttpServletResponse(), null)).getRetryAfterSeconds();
+    }
+
+    private static RateLimiter limiter(int capacity) {
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+        group.setMethods(List.of("GET"));
+        group.setPaths(List.of("/items/search"));
+        group.setCapacity(capacity);
+        group.setRefillPerSecond(0.001);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setGroups(Map.of("search", group));
+        return new RateLimiter(properties, new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletRequest search(Long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/search");
+        if (userId != null) {
+            request.addHeader("X-Sharer-User-Id", userId);
+        }
+        return request;
+    }
+
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class PropertiesConfig {
+    }
+}
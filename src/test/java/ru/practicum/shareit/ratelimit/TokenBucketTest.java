@@ -0,0 +1,51 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long START = 1_000 * SECOND;
+
+    @Test
+    void allowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 2, START);
+
+        assertEquals(0, bucket.tryAcquire(START));
+        assertEquals(0, bucket.tryAcquire(START));
+        assertEquals(0, bucket.tryAcquire(START));
+        assertEquals(SECOND / 2, bucket.tryAcquire(START));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(2, 2, START);
+        bucket.tryAcquire(START);
+        bucket.tryAcquire(START);
+
+        assertEquals(1, bucket.tryAcquire(START + SECOND / 2 - 1));
+        assertEquals(0, bucket.tryAcquire(START + SECOND / 2));
+        assertEquals(SECOND / 2, bucket.tryAcquire(START + SECOND / 2));
+    }
+
+    @Test
+    void idleTimeDoesNotGrowBurstBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 2, START);
+        long later = START + 60 * SECOND;
+
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(SECOND / 2, bucket.tryAcquire(later));
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, START));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, START));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, Double.NaN, START));
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.request.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class ItemRequestServiceTest {
+    @Autowired
+    private ItemRequestService requestService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private EntityManager entityManager;
+    private Long requester;
+    private Long owner;
+    private final List<Long> requests = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        requester = userService.create(new UserDto(null, "requester", "requests-requester@mail.ru")).getId();
+        owner = userService.create(new UserDto(null, "owner", "requests-owner@mail.ru")).getId();
+        for (int i = 0; i < 5; i++) {
+            requests.add(requestService.create(requester, new ItemRequestDto(null, "request " + i, null, null))
+                    .getId());
+        }
+        answer(requests.get(1), "first");
+        answer(requests.get(1), "second");
+        answer(requests.get(3), "third");
+    }
+
+    @Test
+    void pagesStartAtArbitraryOffset() {
+        assertEquals(List.of(requests.get(3), requests.get(2), requests.get(1)),
+                ids(requestService.getOwn(requester, 1, 3)));
+        assertEquals(List.of(requests.get(2), requests.get(1)), ids(requestService.getAll(owner, 2, 2)));
+        assertEquals(List.of(requests.get(0)), ids(requestService.getOwn(requester, 4, 3)));
+        assertEquals(List.of(), requestService.getAll(requester, 0, 10));
+    }
+
+    @Test
+    void attachesAnswersWithOneQuery() {
+        requestService.getOwn(requester, 0, 5);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<ItemRequestDto> page = requestService.getOwn(requester, 0, 5);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(List.of("third"), names(page.get(1)));
+        assertEquals(List.of("first", "second"), names(page.get(3)));
+        assertEquals(List.of(), names(page.get(0)));
+        assertEquals(List.of("first", "second"), names(requestService.getById(owner, requests.get(1))));
+    }
+
+    @Test
+    void rejectsInvalidPageAndUnknownIds() {
+        assertThrows(ValidationException.class, () -> requestService.getOwn(requester, -1, 2));
+        assertThrows(ValidationException.class, () -> requestService.getAll(requester, 0, 0));
+        assertThrows(ValidationException.class, () -> requestService.getAll(requester, 0, 101));
+        assertThrows(ObjectNotFoundException.class, () -> requestService.getOwn(-1L, 0, 2));
+        assertThrows(ObjectNotFoundException.class, () -> requestService.getById(requester, -1L));
+        assertThrows(ObjectNotFoundException.class,
+                () -> requestService.create(-1L, new ItemRequestDto(null, "request", null, null)));
+    }
+
+    private void answer(Long requestId, String name) {
+        ItemShortDto item = new ItemShortDto(null, name, "description", true);
+        item.setRequestId(requestId);
+        itemService.create(owner, item);
+    }
+
+    private static List<Long> ids(List<ItemRequestDto> requests) {
+        return requests.stream().map(ItemRequestDto::getId).collect(Collectors.toList());
+    }
+
+    private static List<String> names(ItemRequestDto request) {
+        return request.getItems().stream().map(ItemShortDto::getName).sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.dto.CommentShortDto;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class UserDeletionTest {
+    private static final String TEXT = "перфораторстенолом";
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void deletedOwnersItemsLeaveSearchAndItemCache() throws Exception {
+        Long owner = userService.create(new UserDto(null, "owner", "deleted-owner@mail.ru")).getId();
+        Long viewer = userService.create(new UserDto(null, "viewer", "deleted-viewer@mail.ru")).getId();
+        Long item = itemService.create(owner, new ItemShortDto(null, TEXT, "description", true)).getId();
+        assertEquals(1, itemService.search(TEXT, null, null, 0, 20).size());
+        assertEquals(TEXT, itemService.getById(viewer, item).get().getName());
+
+        userService.deleteById(owner);
+
+        assertEquals(List.of(), itemService.search(TEXT, null, null, 0, 20));
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> itemService.getById(viewer, item).get());
+        assertInstanceOf(ObjectNotFoundException.class, thrown.getCause());
+    }
+
+    @Test
+    void deletedAuthorsCommentsLeaveCountsAndPreviews() throws Exception {
+        Long owner = userService.create(new UserDto(null, "owner", "commented-owner@mail.ru")).getId();
+        Long author = userService.create(new UserDto(null, "author", "deleted-author@mail.ru")).getId();
+        Long other = userService.create(new UserDto(null, "other", "remaining-author@mail.ru")).getId();
+        Long item = itemService.create(owner, new ItemShortDto(null, "item", "description", true)).getId();
+        bookInPast(item, author);
+        bookInPast(item, other);
+        itemService.createComment(item, author, new CommentShortDto(null, "first", null, null));
+        itemService.createComment(item, author, new CommentShortDto(null, "second", null, null));
+        itemService.createComment(item, other, new CommentShortDto(null, "third", null, null));
+        assertEquals(3, itemService.getById(other, item).get().getCommentCount());
+
+        userService.deleteById(author);
+
+        ItemDto view = itemService.getById(other, item).get();
+        assertEquals(1, view.getCommentCount());
+        assertEquals(1, view.getComments().size());
+        assertEquals(1, itemService.getByUserId(owner).get(0).getCommentCount());
+    }
+
+    private void bookInPast(Long itemId, Long bookerId) {
+        LocalDateTime start = LocalDateTime.now().minusDays(2);
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        bookingRepository.save(new Booking(null, start, start.plusDays(1), item,
+                userRepository.findById(bookerId).orElseThrow(), Status.APPROVED, item.getOwner().getId()));
+    }
+}